@@ -0,0 +1,88 @@
+package com.rtpqueuez.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.rtpqueuez.RTPQueueZ;
+import net.kyori.adventure.text.Component;
+
+import java.util.UUID;
+
+/**
+ * A mocked server with the plugin enabled, shared by the benchmarks.
+ * Nothing ticks unless a benchmark asks for it, so queued players stay queued.
+ */
+final class BenchmarkServer {
+
+    static final String WORLD = "world";
+
+    final ServerMock server;
+    final RTPQueueZ plugin;
+
+    private BenchmarkServer() {
+        this.server = MockBukkit.mock();
+        this.server.addSimpleWorld(WORLD);
+        this.plugin = MockBukkit.load(RTPQueueZ.class);
+    }
+
+    static BenchmarkServer start() {
+        return new BenchmarkServer();
+    }
+
+    /**
+     * Adds online players that drop every chat message and title, so long runs don't
+     * pile up millions of messages in the mock's inbox.
+     */
+    QuietPlayer[] addPlayers(int count) {
+        QuietPlayer[] players = new QuietPlayer[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = new QuietPlayer(server, "bench" + i);
+            server.addPlayer(players[i]);
+        }
+        return players;
+    }
+
+    /**
+     * Fails unless the caller is the mocked server thread. Off that thread the queue manager only
+     * schedules the call for the next tick, and a benchmark would time the scheduling instead.
+     */
+    void requireServerThread() {
+        if (!plugin.getTaskScheduler().isGlobalThread()) {
+            throw new IllegalStateException("Benchmark thread " + Thread.currentThread().getName() + " is not the server thread");
+        }
+    }
+
+    /**
+     * Fails unless a queue holds the expected number of players, so a benchmark never quietly
+     * measures the empty-queue path because the setup joins did not apply.
+     */
+    void requireQueued(String queue, int expected) {
+        int actual = plugin.getQueueManager().getQueueCount(queue);
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " queued players but found " + actual);
+        }
+    }
+
+    void stop() {
+        MockBukkit.unmock();
+    }
+
+    static final class QuietPlayer extends PlayerMock {
+
+        private QuietPlayer(ServerMock server, String name) {
+            super(server, name, UUID.nameUUIDFromBytes(name.getBytes()));
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        @Override
+        public void sendMessage(Component message) {
+        }
+
+        @Override
+        public void sendTitle(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.rtpqueuez.benchmark;
+
+import com.rtpqueuez.core.Clock;
+import com.rtpqueuez.core.CooldownStore;
+import com.rtpqueuez.core.QueueCore;
+import com.rtpqueuez.core.QueueEvents;
+import com.rtpqueuez.core.QueueRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of joins followed by the tick that forms matches from them, on the queue core alone.
+ * The queue has no countdown, so every match finishes in the tick that forms it and the same
+ * players can join again in the next invocation without any per-invocation reset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormationBenchmark {
+
+    // 8 players per match like the default 'group' profile, without its countdown
+    private static final Rules GROUP = new Rules("group", 8, 0, 0);
+
+    @Param({"8", "64", "512"})
+    private int burst;
+
+    private QueueCore<Rules> core;
+    private UUID[] players;
+
+    @Setup
+    public void setUp() {
+        core = new QueueCore<>(name -> name.equalsIgnoreCase(GROUP.name()) ? Optional.of(GROUP) : Optional.empty(),
+                player -> true, Clock.SYSTEM, new CooldownStore(null), new QueueEvents<>() {
+                });
+        players = new UUID[burst];
+        for (int i = 0; i < burst; i++) {
+            players[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public int joinBurst() {
+        for (UUID player : players) {
+            core.join(player, GROUP.name(), 0L);
+        }
+        core.tick();
+        return core.size(GROUP.name());
+    }
+
+    private record Rules(String name, int maxPlayers, int teleportDelay, int cooldown) implements QueueRules {
+    }
+}
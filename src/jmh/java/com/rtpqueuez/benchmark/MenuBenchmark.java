@@ -0,0 +1,77 @@
+package com.rtpqueuez.benchmark;
+
+import com.rtpqueuez.config.QueueConfig;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the queue menu for a player and resolving clicked items back to their config key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuBenchmark {
+
+    private BenchmarkServer server;
+    private QueueConfig config;
+    private BenchmarkServer.QuietPlayer viewer;
+    private ItemStack menuItem;
+    private ItemStack foreignItem;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkServer.start();
+        config = server.plugin.getQueueConfig();
+        viewer = server.addPlayers(1)[0];
+
+        Inventory menu = config.createQueueMenu(viewer).orElseThrow();
+        for (ItemStack item : menu.getContents()) {
+            if (item != null && config.getItemKeyByItemStack(item).isPresent()) {
+                menuItem = item;
+                break;
+            }
+        }
+        if (menuItem == null) {
+            throw new IllegalStateException("The default menu has no clickable items");
+        }
+        foreignItem = new ItemStack(Material.STONE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public Optional<Inventory> createQueueMenu() {
+        return config.createQueueMenu(viewer);
+    }
+
+    @Benchmark
+    public Optional<String> itemKeyOfMenuItem() {
+        return config.getItemKeyByItemStack(menuItem);
+    }
+
+    @Benchmark
+    public Optional<String> itemKeyOfForeignItem() {
+        return config.getItemKeyByItemStack(foreignItem);
+    }
+}
@@ -0,0 +1,73 @@
+package com.rtpqueuez.benchmark;
+
+import com.rtpqueuez.message.MessageArgs;
+import com.rtpqueuez.message.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering compiled messages, alone and sent to a group of {@code receivers} players.
+ * The players drop what they receive, so only rendering and dispatch are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+    @Param({"1", "8", "100"})
+    private int receivers;
+
+    private BenchmarkServer server;
+    private MessageTemplate broadcast;
+    private MessageTemplate joined;
+    private MessageArgs args;
+    private List<BenchmarkServer.QuietPlayer> players;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkServer.start();
+        broadcast = server.plugin.getQueueConfig().getMessage("queue-joined-broadcast");
+        joined = server.plugin.getQueueConfig().getMessage("queue-joined");
+        args = MessageArgs.world(BenchmarkServer.WORLD).player("bench0");
+        players = Arrays.asList(server.addPlayers(receivers));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String renderLine() {
+        return joined.renderLine(0, args);
+    }
+
+    @Benchmark
+    public void sendToEach() {
+        for (BenchmarkServer.QuietPlayer player : players) {
+            joined.send(player, args);
+        }
+    }
+
+    @Benchmark
+    public void sendBroadcast() {
+        broadcast.send(players, args);
+    }
+}
@@ -0,0 +1,73 @@
+package com.rtpqueuez.benchmark;
+
+import com.rtpqueuez.placeholders.RTPQueuePlaceholder;
+import com.rtpqueuez.queue.QueueManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the PlaceholderAPI placeholders, which scoreboards and menus request every refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+
+    @Param({"10", "10000"})
+    private int queued;
+
+    private BenchmarkServer server;
+    private RTPQueuePlaceholder placeholder;
+    private BenchmarkServer.QuietPlayer queuedPlayer;
+    private BenchmarkServer.QuietPlayer idlePlayer;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkServer.start();
+        QueueManager queues = server.plugin.getQueueManager();
+        placeholder = new RTPQueuePlaceholder(queues);
+        BenchmarkServer.QuietPlayer[] players = server.addPlayers(queued + 1);
+        server.requireServerThread();
+        for (int i = 0; i < queued; i++) {
+            queues.joinQueue(players[i], "group");
+        }
+        server.requireQueued("group", queued);
+        queuedPlayer = players[queued / 2];
+        idlePlayer = players[queued];
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String statusQueued() {
+        return placeholder.onPlaceholderRequest(queuedPlayer, "status_player");
+    }
+
+    @Benchmark
+    public String statusNotQueued() {
+        return placeholder.onPlaceholderRequest(idlePlayer, "status_player");
+    }
+
+    @Benchmark
+    public String count() {
+        return placeholder.onPlaceholderRequest(idlePlayer, "count_group");
+    }
+}
@@ -0,0 +1,93 @@
+package com.rtpqueuez.benchmark;
+
+import com.rtpqueuez.queue.QueueManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joining, leaving and looking up players with a queue already holding {@code queued} players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    private static final String QUEUE = "group";
+
+    @Param({"10", "100", "1000", "10000"})
+    private int queued;
+
+    private BenchmarkServer server;
+    private QueueManager queues;
+    private BenchmarkServer.QuietPlayer[] players;
+    private BenchmarkServer.QuietPlayer newcomer;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        server = BenchmarkServer.start();
+        queues = server.plugin.getQueueManager();
+        players = server.addPlayers(queued + 1);
+        newcomer = players[queued];
+        server.requireServerThread();
+        for (int i = 0; i < queued; i++) {
+            queues.joinQueue(players[i], QUEUE);
+        }
+        server.requireQueued(QUEUE, queued);
+    }
+
+    /**
+     * JMH runs every iteration on a benchmark thread; check it is still the one the server was mocked on.
+     */
+    @Setup(Level.Iteration)
+    public void checkThread() {
+        server.requireServerThread();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public void joinAndLeave() {
+        queues.joinQueue(newcomer, QUEUE);
+        queues.leaveQueue(newcomer);
+    }
+
+    @Benchmark
+    public boolean isQueued() {
+        return queues.isPlayerInAnyQueue(nextPlayer());
+    }
+
+    @Benchmark
+    public String queuedWorld() {
+        return queues.getQueuedWorld(nextPlayer());
+    }
+
+    @Benchmark
+    public int queueCount() {
+        return queues.getQueueCount(QUEUE);
+    }
+
+    private BenchmarkServer.QuietPlayer nextPlayer() {
+        if (++next >= queued) next = 0;
+        return players[next];
+    }
+}
@@ -1,36 +1,77 @@
 package com.rtpqueuez;
 
 import com.rtpqueuez.commands.RTPQueueCommand;
+import com.rtpqueuez.config.ConfigSnapshot;
 import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.exclusion.ExclusionRegistry;
 import com.rtpqueuez.listeners.MenuListener;
+import com.rtpqueuez.listeners.PlayerPresenceListener;
+import com.rtpqueuez.menu.MenuTracker;
+import com.rtpqueuez.message.BroadcastAggregator;
+import com.rtpqueuez.metrics.MetricsExporter;
+import com.rtpqueuez.metrics.PluginMetrics;
 import com.rtpqueuez.placeholders.RTPQueuePlaceholder;
 import com.rtpqueuez.queue.QueueManager;
+import com.rtpqueuez.scheduler.TaskScheduler;
+import com.rtpqueuez.teleport.ChunkTicketManager;
+import com.rtpqueuez.teleport.LocationPoolManager;
+import com.rtpqueuez.teleport.TeleportService;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.concurrent.CompletableFuture;
+
 public class RTPQueueZ extends JavaPlugin {
 
     private QueueManager queueManager;
+    private TaskScheduler taskScheduler;
     private QueueConfig queueConfig;
+    private LocationPoolManager locationPoolManager;
+    private ExclusionRegistry exclusionRegistry;
+    private ChunkTicketManager chunkTicketManager;
+    private TeleportService teleportService;
+    private MenuTracker menuTracker;
+    private BroadcastAggregator broadcastAggregator;
+    private PluginMetrics metrics;
+    private MetricsExporter metricsExporter;
     private static RTPQueueZ instance;
 
     @Override
     public void onEnable() {
         instance = this;
+        // Region-aware scheduling on Folia, the main thread scheduler everywhere else
+        this.taskScheduler = TaskScheduler.create(this);
+        this.metrics = new PluginMetrics();
 
         // 1. Load Configurations
         this.saveDefaultConfig();
         this.queueConfig = new QueueConfig(this);
         this.queueConfig.loadConfigs();
+        this.metricsExporter = new MetricsExporter(this, metrics);
+        this.metricsExporter.start(queueConfig.getMetricsSettings());
+
+        // 2. Start filling the destination pools, then initialize Core Manager
+        this.exclusionRegistry = new ExclusionRegistry(this);
+        this.exclusionRegistry.load();
+        this.locationPoolManager = new LocationPoolManager(this, queueConfig, exclusionRegistry);
+        this.locationPoolManager.start();
+        this.chunkTicketManager = new ChunkTicketManager(this);
+        this.teleportService = new TeleportService(this, queueConfig, locationPoolManager);
+        this.teleportService.start();
+        this.broadcastAggregator = new BroadcastAggregator(this, queueConfig);
+        this.queueManager = new QueueManager(this, queueConfig, locationPoolManager, chunkTicketManager, teleportService, broadcastAggregator);
+        this.queueManager.start();
 
-        // 2. Initialize Core Manager
-        this.queueManager = new QueueManager(this, queueConfig);
+        // Keep open menus in sync with queue counts
+        this.menuTracker = new MenuTracker(this, queueConfig);
+        this.queueManager.addCountListener(menuTracker::onQueueCountChanged);
 
         // 3. Register Command
         this.getCommand("rtpqueue").setExecutor(new RTPQueueCommand(this, queueManager));
 
         // 4. Register Event Listener (for the menu)
         Bukkit.getPluginManager().registerEvents(new MenuListener(this, queueConfig), this);
+        Bukkit.getPluginManager().registerEvents(new PlayerPresenceListener(this, queueConfig), this);
 
         // 5. Register PlaceholderAPI Hook
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -46,14 +87,81 @@ public class RTPQueueZ extends JavaPlugin {
     @Override
     public void onDisable() {
         // Stop any running tasks and clear queues
-        Bukkit.getScheduler().cancelTasks(this);
+        // Pending arrivals set cooldowns, so they run before the queue manager saves them
+        if (teleportService != null) {
+            teleportService.stop();
+        }
+        // The plugin is already disabled here, so clearing the queues must not schedule menu redraws
+        if (menuTracker != null) {
+            menuTracker.stop();
+        }
+        if (queueManager != null) {
+            queueManager.shutdown();
+        }
+        if (broadcastAggregator != null) {
+            broadcastAggregator.stop();
+        }
+        if (locationPoolManager != null) {
+            locationPoolManager.stop();
+        }
+        if (exclusionRegistry != null) {
+            exclusionRegistry.stop();
+        }
+        if (chunkTicketManager != null) {
+            chunkTicketManager.releaseAll();
+        }
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (taskScheduler != null) {
+            taskScheduler.cancelAll();
+        }
         getLogger().info("RTPQueueZ v" + getDescription().getVersion() + " disabled.");
     }
 
+    /**
+     * Reloads config.yml and messages.yml without a restart, see {@link QueueConfig#reload()},
+     * then rebuilds the exclusion zones off the main thread. The destination pools and metrics
+     * exporter follow the new settings on the global thread before the returned future completes.
+     * If any of these steps throws, the future completes with that exception.
+     */
+    public CompletableFuture<ConfigSnapshot> reloadConfigs() {
+        return queueConfig.reload().thenCompose(snapshot -> {
+            CompletableFuture<ConfigSnapshot> applied = new CompletableFuture<>();
+            taskScheduler.runAsync(() -> {
+                try {
+                    exclusionRegistry.load();
+                } catch (RuntimeException e) {
+                    applied.completeExceptionally(e);
+                    return;
+                }
+                taskScheduler.executeGlobal(() -> {
+                    try {
+                        locationPoolManager.reload();
+                        queueManager.dropRemovedQueues();
+                        metricsExporter.reload(snapshot.getMetricsSettings());
+                        applied.complete(snapshot);
+                    } catch (RuntimeException e) {
+                        applied.completeExceptionally(e);
+                    }
+                });
+            });
+            return applied;
+        });
+    }
+
     public static RTPQueueZ getInstance() {
         return instance;
     }
 
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    public PluginMetrics getMetrics() {
+        return metrics;
+    }
+
     public QueueManager getQueueManager() {
         return queueManager;
     }
@@ -61,4 +169,24 @@ public class RTPQueueZ extends JavaPlugin {
     public QueueConfig getQueueConfig() {
         return queueConfig;
     }
+
+    public TeleportService getTeleportService() {
+        return teleportService;
+    }
+
+    public LocationPoolManager getLocationPoolManager() {
+        return locationPoolManager;
+    }
+
+    public ExclusionRegistry getExclusionRegistry() {
+        return exclusionRegistry;
+    }
+
+    public MenuTracker getMenuTracker() {
+        return menuTracker;
+    }
+
+    public BroadcastAggregator getBroadcastAggregator() {
+        return broadcastAggregator;
+    }
 }
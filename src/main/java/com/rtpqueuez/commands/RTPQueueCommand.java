@@ -2,16 +2,22 @@ package com.rtpqueuez.commands;
 
 import com.rtpqueuez.RTPQueueZ;
 import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.metrics.Histogram;
+import com.rtpqueuez.metrics.PluginMetrics;
 import com.rtpqueuez.queue.QueueManager;
+import com.rtpqueuez.teleport.LocationSettings;
+import com.rtpqueuez.teleport.SafeLocationPool;
+import com.rtpqueuez.teleport.TeleportService;
 import com.rtpqueuez.util.ChatUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.Inventory;
 
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 public class RTPQueueCommand implements CommandExecutor {
 
@@ -27,13 +33,33 @@ public class RTPQueueCommand implements CommandExecutor {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 1 && args[0].equalsIgnoreCase("stats")) {
+            // /rtpqueue stats - Show runtime metrics, also from the console
+            if (!sender.hasPermission("rtpqueue.stats")) {
+                config.getMessage("no-permission").send(sender);
+                return true;
+            }
+            sendStats(sender);
+            return true;
+        }
+
+        if (args.length == 1 && args[0].equalsIgnoreCase("reload")) {
+            // /rtpqueue reload - Reload config.yml, messages.yml and exclusions.yml, also from the console
+            if (!sender.hasPermission("rtpqueue.reload")) {
+                config.getMessage("no-permission").send(sender);
+                return true;
+            }
+            reload(sender);
+            return true;
+        }
+
         if (!(sender instanceof Player player)) {
             sender.sendMessage(ChatUtil.color("&cOnly players can use this command."));
             return true;
         }
 
         if (!player.hasPermission("rtpqueue.use")) {
-            config.sendMessages(player, config.getMessages().get("no-permission"));
+            config.getMessage("no-permission").send(player);
             return true;
         }
 
@@ -43,33 +69,111 @@ public class RTPQueueCommand implements CommandExecutor {
             return true;
         }
 
+        if (args.length == 1 && args[0].equalsIgnoreCase("broadcasts")) {
+            // /rtpqueue broadcasts - Toggle match broadcasts
+            boolean muted = plugin.getBroadcastAggregator().toggleMuted(player);
+            config.getMessage(muted ? "broadcasts-muted" : "broadcasts-unmuted").send(player);
+            return true;
+        }
+
         if (args.length == 1) {
-            // /rtpqueue <world> - Queue for world
-            String worldName = args[0].toLowerCase();
-            queueManager.joinQueue(player, worldName);
+            // /rtpqueue <queue|world> - Queue for a profile or world
+            String queueName = args[0].toLowerCase();
+            queueManager.joinQueue(player, queueName);
             return true;
         }
 
         // Help or default case
         player.sendMessage(ChatUtil.color("&a&lRTPQueueZ &fUsage:"));
         player.sendMessage(ChatUtil.color("&b/rtpqueue &f- Open the queue menu."));
-        player.sendMessage(ChatUtil.color("&b/rtpqueue <world> &f- Join the queue for a world."));
+        player.sendMessage(ChatUtil.color("&b/rtpqueue <queue> &f- Join a queue or the queue for a world."));
+        player.sendMessage(ChatUtil.color("&b/rtpqueue broadcasts &f- Toggle match announcements."));
+        if (player.hasPermission("rtpqueue.stats")) {
+            player.sendMessage(ChatUtil.color("&b/rtpqueue stats &f- Show queue and teleport metrics."));
+        }
+        if (player.hasPermission("rtpqueue.reload")) {
+            player.sendMessage(ChatUtil.color("&b/rtpqueue reload &f- Reload the config, messages and exclusion zones."));
+        }
         return true;
     }
 
     /**
-     * Creates and opens the custom inventory menu based on config.yml.
-     * @param player The player to open the menu for.
+     * Parses the files off the main thread; queues and countdowns keep running meanwhile.
      */
-    private void openQueueMenu(Player player) {
-        String title = config.getMenuTitle();
-        int size = config.getMenuSize();
+    private void reload(CommandSender sender) {
+        long start = System.nanoTime();
+        plugin.reloadConfigs().whenComplete((snapshot, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().warning("Failed to reload the config: " + cause.getMessage());
+                sender.sendMessage(ChatUtil.color("&cReload failed, the current config stays active: &f" + cause.getMessage()));
+                return;
+            }
+            sender.sendMessage(ChatUtil.color("&aRTPQueueZ config reloaded in &f" + duration(System.nanoTime() - start)
+                    + "&a, " + snapshot.getProfiles().size() + " queue profiles."));
+        });
+    }
 
-        // Use the Inventory utility class to replace placeholders on the fly
-        Optional<Inventory> menu = config.createQueueMenu(title, size, player);
+    /**
+     * Summarizes the runtime metrics. Percentiles are bucket upper bounds, so they round up.
+     */
+    private void sendStats(CommandSender sender) {
+        PluginMetrics metrics = plugin.getMetrics();
+        sender.sendMessage(ChatUtil.color("&a&lRTPQueueZ &fStats:"));
+        sender.sendMessage(ChatUtil.color("&bMatches &f" + metrics.getMatches()
+                + " &bTeleports &f" + metrics.getTeleports()
+                + " &bFailed &f" + metrics.getTeleportFailures()));
+        TeleportService teleports = plugin.getTeleportService();
+        sender.sendMessage(ChatUtil.color("&bCounting down &f" + queueManager.getActiveCountdowns()
+                + " &bIn flight &f" + teleports.getPendingTeleports()
+                + " &bArrivals waiting &f" + teleports.getQueuedArrivals()
+                + " &bOpen menus &f" + plugin.getMenuTracker().getOpenMenuCount()));
 
-        menu.ifPresentOrElse(player::openInventory, () -> {
-            player.sendMessage(ChatUtil.color("&cError: Could not load queue menu from config!"));
+        sender.sendMessage(ChatUtil.color("&bQueue wait &7(p50 / p95, players)"));
+        Map<String, Histogram> waits = metrics.getQueueWaits();
+        if (waits.isEmpty()) {
+            sender.sendMessage(ChatUtil.color("&7  No matches yet"));
+        }
+        waits.forEach((queue, histogram) -> sender.sendMessage(ChatUtil.color("&f  " + queue + ": " + durations(histogram.snapshot()))));
+        sender.sendMessage(ChatUtil.color("&bCountdown to arrival &f" + durations(metrics.getArrivalLatency().snapshot())));
+        sender.sendMessage(ChatUtil.color("&bSearch &fattempts " + counts(metrics.getSearchAttempts().snapshot())
+                + "&f, chunk loads " + counts(metrics.getSearchChunkLoads().snapshot())));
+        sender.sendMessage(ChatUtil.color("&bReservation chunk loads &f" + counts(metrics.getReservationChunkLoads().snapshot())));
+
+        sender.sendMessage(ChatUtil.color("&bLocation pools &7(ready / target)"));
+        for (SafeLocationPool pool : plugin.getLocationPoolManager().getPools()) {
+            LocationSettings settings = pool.getSettings();
+            sender.sendMessage(ChatUtil.color("&f  " + settings.worldName() + " &7(radius " + settings.radius() + ")&f: "
+                    + pool.getReadyCount() + " / " + settings.poolSize()));
+        }
+
+        sender.sendMessage(ChatUtil.color("&bMain thread &7(mean / p99, calls)"));
+        metrics.getSections().forEach((section, histogram) -> {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            sender.sendMessage(ChatUtil.color("&f  " + section + ": " + duration(Math.round(snapshot.mean()))
+                    + " / " + duration(snapshot.percentile(99)) + " &7(" + snapshot.count() + ")"));
         });
     }
+
+    private static String durations(Histogram.Snapshot snapshot) {
+        return duration(snapshot.percentile(50)) + " / " + duration(snapshot.percentile(95)) + " &7(" + snapshot.count() + ")";
+    }
+
+    private static String counts(Histogram.Snapshot snapshot) {
+        return String.format(Locale.ROOT, "mean %.1f, p95 %d &7(%d)", snapshot.mean(), snapshot.percentile(95), snapshot.count());
+    }
+
+    private static String duration(long nanos) {
+        if (nanos < 1_000_000L) return String.format(Locale.ROOT, "%.0fus", nanos / 1e3);
+        if (nanos < 1_000_000_000L) return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.1fs", nanos / 1e9);
+    }
+
+    /**
+     * Creates and opens the custom inventory menu based on config.yml.
+     * @param player The player to open the menu for.
+     */
+    private void openQueueMenu(Player player) {
+        plugin.getMenuTracker().open(player);
+    }
 }
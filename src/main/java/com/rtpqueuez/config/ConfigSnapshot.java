@@ -0,0 +1,278 @@
+package com.rtpqueuez.config;
+
+import com.rtpqueuez.match.CountdownDisplayMode;
+import com.rtpqueuez.match.PlacementMode;
+import com.rtpqueuez.menu.MenuAction;
+import com.rtpqueuez.menu.MenuItemTemplate;
+import com.rtpqueuez.menu.QueueMenuTemplate;
+import com.rtpqueuez.message.MessageTemplate;
+import com.rtpqueuez.teleport.LocationSettings;
+import com.rtpqueuez.util.ChatUtil;
+import net.kyori.adventure.bossbar.BossBar;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Everything parsed from config.yml and messages.yml, compiled once and never modified.
+ * <p>
+ * Parsing only reads the given configurations, so it can run off the main thread. A reload builds
+ * a new snapshot and {@link QueueConfig} swaps it in with one reference write; readers always see
+ * either the old or the new settings, never a mix.
+ */
+public final class ConfigSnapshot {
+
+    private final int teleportDelay;
+    private final int cooldown;
+    private final int maxPlayersPerQueue;
+    private final String menuTitle;
+    private final int menuSize;
+    private final long menuClickCooldown;
+    private final QueueMenuTemplate queueMenu;
+    private final Map<String, MessageTemplate> messages;
+    private final Map<String, String> titles;
+    private final int arrivalsPerTick;
+    private final int teleportMaxRetries;
+    private final CountdownDisplayMode countdownDisplayMode;
+    private final BossBar.Color countdownBarColor;
+    private final PlacementMode placementMode;
+    private final boolean leaveOnWorldChange;
+    private final boolean leaveOnDeath;
+    private final boolean refillMatches;
+    private final int scatterRadius;
+    private final boolean broadcastEnabled;
+    private final long broadcastWindowTicks;
+    private final long broadcastWorldCooldown;
+    private final String broadcastPermission;
+    private final MetricsSettings metricsSettings;
+    private final LocationSettings defaultLocationSettings;
+    private final Map<String, LocationSettings> worldLocationSettings;
+    private final Map<String, QueueProfile> profiles;
+    private final List<PriorityTier> priorityTiers;
+
+    /**
+     * Parses both files. Invalid values are logged and replaced by their defaults.
+     * @param resolvePlaceholders Whether PlaceholderAPI is enabled, checked by the caller on the main thread.
+     */
+    ConfigSnapshot(FileConfiguration config, FileConfiguration messagesConfig, NamespacedKey menuItemTag,
+                   boolean resolvePlaceholders, Logger logger) {
+        teleportDelay = Math.max(0, config.getInt("teleport-delay", 5));
+        cooldown = Math.max(0, config.getInt("cooldown", 30));
+        maxPlayersPerQueue = Math.max(1, config.getInt("max-players-per-queue", 2));
+
+        menuTitle = ChatUtil.color(config.getString("menu.title", "&b&lRTP Queue Menu"));
+        menuSize = config.getInt("menu.size", 36);
+        menuClickCooldown = Math.max(0L, config.getLong("menu.click-cooldown-ms", 250L));
+
+        // Compile menu items into pre-colored templates
+        Map<String, MenuItemTemplate> menuItems = new HashMap<>();
+        if (config.isConfigurationSection("menu.items")) {
+            for (String key : config.getConfigurationSection("menu.items").getKeys(false)) {
+                String path = "menu.items." + key;
+                int slot = config.getInt(path + ".slot");
+                if (slot < 0 || slot >= menuSize) {
+                    logger.warning("Invalid slot (" + slot + ") for item: " + key);
+                    continue;
+                }
+                menuItems.put(key, MenuItemTemplate.compile(key,
+                        config.getString(path + ".Material", "STONE"),
+                        slot,
+                        config.getString(path + ".display_name", "&fDefault Name"),
+                        config.getStringList(path + ".lore"),
+                        parseActions(key, config.getStringList(path + ".actions"), logger),
+                        menuItemTag,
+                        resolvePlaceholders));
+            }
+        }
+        queueMenu = new QueueMenuTemplate(menuTitle, menuSize, menuItems);
+
+        // Load teleport settings
+        arrivalsPerTick = Math.max(1, config.getInt("teleport.arrivals-per-tick", 10));
+        teleportMaxRetries = Math.max(0, config.getInt("teleport.max-retries", 2));
+        countdownDisplayMode = CountdownDisplayMode.fromString(config.getString("teleport.countdown-display", "chat"));
+        countdownBarColor = readBarColor(config.getString("teleport.bossbar-color", "GREEN"), logger);
+
+        // Load match placement settings
+        placementMode = PlacementMode.fromString(config.getString("placement.mode", "group"));
+        scatterRadius = Math.max(0, Math.min(64, config.getInt("placement.scatter-radius", 8)));
+
+        // Load presence settings
+        leaveOnWorldChange = config.getBoolean("presence.leave-on-world-change", true);
+        leaveOnDeath = config.getBoolean("presence.leave-on-death", false);
+        refillMatches = config.getBoolean("presence.refill-matches", true);
+
+        // Load match broadcast settings
+        broadcastEnabled = config.getBoolean("broadcast.enabled", true);
+        broadcastWindowTicks = Math.max(1L, Math.round(config.getDouble("broadcast.window-seconds", 5.0) * 20));
+        broadcastWorldCooldown = Math.max(0L, config.getLong("broadcast.world-cooldown-seconds", 30L)) * 1000L;
+        broadcastPermission = config.getString("broadcast.permission", "");
+
+        // Load metrics export settings
+        metricsSettings = new MetricsSettings(
+                config.getBoolean("metrics.file.enabled", false),
+                config.getString("metrics.file.path", "metrics.prom"),
+                Math.max(1, config.getInt("metrics.file.interval-seconds", 30)),
+                config.getBoolean("metrics.http.enabled", false),
+                config.getString("metrics.http.bind", "127.0.0.1"),
+                config.getInt("metrics.http.port", 9464));
+
+        // Load random teleport search settings
+        ConfigurationSection rtpSection = config.getConfigurationSection("rtp");
+        defaultLocationSettings = readLocationSettings("", rtpSection,
+                new LocationSettings("", 0, 0, 10000, 5, 2, 16));
+        Map<String, LocationSettings> worlds = new HashMap<>();
+        if (rtpSection != null && rtpSection.isConfigurationSection("worlds")) {
+            ConfigurationSection worldsSection = rtpSection.getConfigurationSection("worlds");
+            for (String worldName : worldsSection.getKeys(false)) {
+                String key = worldName.toLowerCase();
+                worlds.put(key, readLocationSettings(key, worldsSection.getConfigurationSection(worldName), defaultLocationSettings));
+            }
+        }
+        worldLocationSettings = Collections.unmodifiableMap(worlds);
+
+        // Load queue profiles; they can override the global match settings and any 'rtp' search option
+        Map<String, QueueProfile> queues = new LinkedHashMap<>();
+        if (config.isConfigurationSection("queues")) {
+            ConfigurationSection queuesSection = config.getConfigurationSection("queues");
+            for (String name : queuesSection.getKeys(false)) {
+                ConfigurationSection section = queuesSection.getConfigurationSection(name);
+                if (section == null) continue;
+                String key = name.toLowerCase();
+                String world = section.getString("world", name);
+                queues.put(key, new QueueProfile(key, world,
+                        Math.max(1, section.getInt("max-players", maxPlayersPerQueue)),
+                        Math.max(0, section.getInt("teleport-delay", teleportDelay)),
+                        Math.max(0, section.getInt("cooldown", cooldown)),
+                        readLocationSettings(world, section, getLocationSettings(world))));
+            }
+        }
+        profiles = Collections.unmodifiableMap(queues);
+
+        // Load priority tiers, largest head start first
+        List<PriorityTier> tiers = new ArrayList<>();
+        if (config.isConfigurationSection("priority.tiers")) {
+            ConfigurationSection tiersSection = config.getConfigurationSection("priority.tiers");
+            for (String name : tiersSection.getKeys(false)) {
+                String permission = tiersSection.getString(name + ".permission", "rtpqueue.priority." + name);
+                long headStart = Math.max(0L, tiersSection.getLong(name + ".head-start", 0L)) * 1000L;
+                tiers.add(new PriorityTier(name, permission, headStart));
+            }
+            tiers.sort((a, b) -> Long.compare(b.headStart(), a.headStart()));
+        }
+        priorityTiers = List.copyOf(tiers);
+
+        // Compile chat messages into templates so sending never parses or re-colors
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String key : messagesConfig.getKeys(false)) {
+            if (messagesConfig.isList(key)) {
+                compiled.put(key, MessageTemplate.compile(messagesConfig.getStringList(key)));
+            }
+        }
+        messages = Map.copyOf(compiled);
+
+        // Load titles
+        titles = Map.of(
+                "teleport", ChatUtil.color(messagesConfig.getString("titles.teleport", "&a&lACCEPTED")),
+                "teleport-subtitle", ChatUtil.color(messagesConfig.getString("titles.subtitles.teleport", "&aTeleporting...")));
+    }
+
+    private static List<MenuAction> parseActions(String itemKey, List<String> lines, Logger logger) {
+        List<MenuAction> actions = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            MenuAction action = MenuAction.parse(line);
+            if (action != null) {
+                actions.add(action);
+            } else {
+                logger.warning("Invalid menu action '" + line + "' for item: " + itemKey);
+            }
+        }
+        return actions;
+    }
+
+    private static BossBar.Color readBarColor(String value, Logger logger) {
+        try {
+            return BossBar.Color.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid boss bar color: " + value);
+            return BossBar.Color.GREEN;
+        }
+    }
+
+    private static LocationSettings readLocationSettings(String worldName, ConfigurationSection section, LocationSettings defaults) {
+        if (section == null) return defaults.forWorld(worldName);
+        return new LocationSettings(
+                worldName,
+                section.getInt("center-x", defaults.centerX()),
+                section.getInt("center-z", defaults.centerZ()),
+                Math.max(1, section.getInt("radius", defaults.radius())),
+                Math.max(0, section.getInt("pool-size", defaults.poolSize())),
+                Math.max(1, section.getInt("refill-rate", defaults.refillRate())),
+                Math.max(1, section.getInt("max-attempts", defaults.maxAttempts()))
+        );
+    }
+
+    /**
+     * Gets a compiled message, or an empty message if the key is unknown.
+     */
+    public MessageTemplate getMessage(String key) {
+        return messages.getOrDefault(key, MessageTemplate.EMPTY);
+    }
+
+    public String getTitle(String key) {
+        return titles.get(key);
+    }
+
+    /**
+     * Gets the head start in milliseconds of the best priority tier the player has, or 0.
+     */
+    public long getPriorityHeadStart(Player player) {
+        for (PriorityTier tier : priorityTiers) {
+            if (player.hasPermission(tier.permission())) return tier.headStart();
+        }
+        return 0L;
+    }
+
+    /**
+     * Gets the destination search settings for a world, falling back to the 'rtp' defaults.
+     */
+    public LocationSettings getLocationSettings(String worldName) {
+        String key = worldName.toLowerCase();
+        LocationSettings settings = worldLocationSettings.get(key);
+        return settings != null ? settings : defaultLocationSettings.forWorld(key);
+    }
+
+    // Getters
+    public int getTeleportDelay() { return teleportDelay; }
+    public int getCooldown() { return cooldown; }
+    public int getMaxPlayersPerQueue() { return maxPlayersPerQueue; }
+    public String getMenuTitle() { return menuTitle; }
+    public int getMenuSize() { return menuSize; }
+    public QueueMenuTemplate getQueueMenu() { return queueMenu; }
+    public long getMenuClickCooldown() { return menuClickCooldown; }
+    public int getArrivalsPerTick() { return arrivalsPerTick; }
+    public int getTeleportMaxRetries() { return teleportMaxRetries; }
+    public CountdownDisplayMode getCountdownDisplayMode() { return countdownDisplayMode; }
+    public BossBar.Color getCountdownBarColor() { return countdownBarColor; }
+    public PlacementMode getPlacementMode() { return placementMode; }
+    public int getScatterRadius() { return scatterRadius; }
+    public boolean isLeaveOnWorldChange() { return leaveOnWorldChange; }
+    public boolean isLeaveOnDeath() { return leaveOnDeath; }
+    public boolean isRefillMatches() { return refillMatches; }
+    public boolean isBroadcastEnabled() { return broadcastEnabled; }
+    public long getBroadcastWindowTicks() { return broadcastWindowTicks; }
+    public long getBroadcastWorldCooldown() { return broadcastWorldCooldown; }
+    public String getBroadcastPermission() { return broadcastPermission; }
+    public MetricsSettings getMetricsSettings() { return metricsSettings; }
+    public Set<String> getConfiguredRtpWorlds() { return worldLocationSettings.keySet(); }
+    public Map<String, QueueProfile> getProfiles() { return profiles; }
+}
@@ -0,0 +1,15 @@
+package com.rtpqueuez.config;
+
+/**
+ * Where runtime metrics are exported. Metrics are always recorded and shown by '/rtpqueue stats'.
+ *
+ * @param fileEnabled         Whether the Prometheus text file is written.
+ * @param filePath            The file, relative to the plugin folder.
+ * @param fileIntervalSeconds How often the file is rewritten.
+ * @param httpEnabled         Whether the HTTP endpoint is served.
+ * @param httpBind            The address the endpoint listens on.
+ * @param httpPort            The port the endpoint listens on.
+ */
+public record MetricsSettings(boolean fileEnabled, String filePath, int fileIntervalSeconds,
+                              boolean httpEnabled, String httpBind, int httpPort) {
+}
@@ -0,0 +1,11 @@
+package com.rtpqueuez.config;
+
+/**
+ * A priority lane granted by a permission.
+ *
+ * @param name       The tier name from config.yml.
+ * @param permission The permission that puts a player in this tier.
+ * @param headStart  How many milliseconds earlier than their real join time a player in this tier is ranked.
+ */
+public record PriorityTier(String name, String permission, long headStart) {
+}
@@ -1,207 +1,221 @@
-package com.rtpqueuez.queue;
+package com.rtpqueuez.config;
 
 import com.rtpqueuez.RTPQueueZ;
-import com.rtpqueuez.config.QueueConfig;
-import com.rtpqueuez.util.ChatUtil;
+import com.rtpqueuez.match.CountdownDisplayMode;
+import com.rtpqueuez.match.PlacementMode;
+import com.rtpqueuez.menu.MenuAction;
+import com.rtpqueuez.menu.MenuItemTemplate;
+import com.rtpqueuez.menu.QueueMenuTemplate;
+import com.rtpqueuez.message.MessageTemplate;
+import com.rtpqueuez.teleport.LocationSettings;
+import net.kyori.adventure.bossbar.BossBar;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
-import org.bukkit.Sound;
-import org.bukkit.World;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
-
-import java.util.ArrayList;
-import java.util.HashMap;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
-public class QueueManager {
+/**
+ * Loads config.yml and messages.yml and serves the current {@link ConfigSnapshot}.
+ * Every getter reads the snapshot that is current at the time of the call; code that needs
+ * several settings to agree with each other should take one {@link #getSnapshot()} and read from it.
+ */
+public class QueueConfig {
 
     private final RTPQueueZ plugin;
-    private final QueueConfig config;
-    private final Map<String, List<UUID>> worldQueues = new HashMap<>();
-    private final Map<UUID, Long> playerCooldowns = new HashMap<>();
+    private final NamespacedKey menuItemTag;
+    // Replaced as a whole on reload, never modified
+    private volatile ConfigSnapshot snapshot;
 
-    public QueueManager(RTPQueueZ plugin, QueueConfig config) {
+    public QueueConfig(RTPQueueZ plugin) {
         this.plugin = plugin;
-        this.config = config;
+        this.menuItemTag = new NamespacedKey(plugin, "menu-item");
     }
 
     /**
-     * Attempts to join a player to a world queue.
+     * Loads both files on startup. A file that fails to parse is logged and treated as empty,
+     * so the defaults apply.
      */
-    public void joinQueue(Player player, String worldName) {
-        World targetWorld = Bukkit.getWorld(worldName);
-
-        if (targetWorld == null) {
-            config.sendMessages(player, config.getMessages().get("invalid-world"), worldName);
-            return;
-        }
-
-        // 1. Check Cooldown
-        long now = System.currentTimeMillis();
-        long cooldownEnd = playerCooldowns.getOrDefault(player.getUniqueId(), 0L);
-        if (now < cooldownEnd) {
-            long remaining = (cooldownEnd - now) / 1000;
-            String message = ChatUtil.replacePlaceholders(config.getMessages().get("cooldown-active").get(0), "{cooldown}", String.valueOf(remaining));
-            player.sendMessage(ChatUtil.color(message));
-            return;
-        }
-
-        // 2. Check if already in queue
-        if (isPlayerInAnyQueue(player)) {
-            config.sendMessages(player, config.getMessages().get("already-in-queue"), worldName);
-            return;
-        }
-
-        // 3. Add to queue
-        worldQueues.computeIfAbsent(worldName.toLowerCase(), k -> new ArrayList<>()).add(player.getUniqueId());
-        config.sendMessages(player, config.getMessages().get("queue-joined"), worldName);
-
-        // 4. Handle queue population
-        checkQueueReadiness(worldName);
+    public void loadConfigs() {
+        boolean resolvePlaceholders = Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
+        snapshot = new ConfigSnapshot(readLenient("config.yml", false), readLenient("messages.yml", true),
+                menuItemTag, resolvePlaceholders, plugin.getLogger());
     }
 
     /**
-     * Checks if a world queue is full and starts the teleport process if ready.
+     * Re-reads and parses both files on an async thread, then swaps the new snapshot in.
+     * Unlike on startup, a file that fails to parse fails the reload and the current settings stay.
+     * Queues and countdowns are untouched; matches already formed keep the profile they started with.
+     * @return A future completed with the new snapshot once it is current, or failed with the parse error.
      */
-    public void checkQueueReadiness(String worldName) {
-        String key = worldName.toLowerCase();
-        List<UUID> queue = worldQueues.get(key);
-
-        if (queue == null || queue.isEmpty()) return;
+    public CompletableFuture<ConfigSnapshot> reload() {
+        boolean resolvePlaceholders = Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
+        CompletableFuture<ConfigSnapshot> future = new CompletableFuture<>();
+        plugin.getTaskScheduler().runAsync(() -> {
+            try {
+                ConfigSnapshot parsed = new ConfigSnapshot(readStrict("config.yml", false), readStrict("messages.yml", true),
+                        menuItemTag, resolvePlaceholders, plugin.getLogger());
+                snapshot = parsed;
+                future.complete(parsed);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
 
-        int maxPlayers = config.getMaxPlayersPerQueue();
-        if (queue.size() >= maxPlayers) {
-            // Queue is full, start the teleport for the required number of players
-            List<UUID> playersToTeleport = new ArrayList<>(queue.subList(0, maxPlayers));
-            playersToTeleport.forEach(uuid -> queue.remove(uuid)); // Remove them from the queue
+    private YamlConfiguration readLenient(String name, boolean copyDefaults) {
+        return withDefaults(YamlConfiguration.loadConfiguration(file(name)), name, copyDefaults);
+    }
 
-            startTeleportProcess(playersToTeleport, worldName);
+    private YamlConfiguration readStrict(String name, boolean copyDefaults) throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.load(file(name));
+        return withDefaults(yaml, name, copyDefaults);
+    }
 
-            // Broadcast the queue join message for the first player
-            Player firstPlayer = Bukkit.getPlayer(playersToTeleport.get(0));
-            if (firstPlayer != null) {
-                config.broadcastMessages(firstPlayer, config.getMessages().get("queue-joined-broadcast"), worldName);
-            }
-        } else {
-            // Not enough players, send status message to the newest player
-            Player newestPlayer = Bukkit.getPlayer(queue.get(queue.size() - 1));
-            if (newestPlayer != null) {
-                config.sendMessages(newestPlayer, config.getMessages().get("not-enough-players"), worldName, String.valueOf(queue.size()));
-            }
+    private File file(String name) {
+        File file = new File(plugin.getDataFolder(), name);
+        if (!file.exists()) {
+            plugin.saveResource(name, false);
         }
+        return file;
     }
 
     /**
-     * Starts the countdown and teleport for a group of players.
+     * Falls back to the bundled file for missing keys.
+     * @param copyDefaults Whether bundled keys also show up as keys of the file. Used for messages.yml,
+     *                     so messages missing from an older file are compiled too; never for config.yml,
+     *                     where it would merge the bundled queues and menu items into the user's.
      */
-    private void startTeleportProcess(List<UUID> players, String worldName) {
-        int delay = config.getTeleportDelay();
-        long cooldown = config.getCooldown() * 1000L;
-
-        // Send initial teleport message and title
-        players.stream()
-                .map(Bukkit::getPlayer)
-                .filter(p -> p != null && p.isOnline())
-                .forEach(p -> {
-                    config.sendMessages(p, config.getMessages().get("queue-teleport"), worldName);
-                    config.sendTitle(p, "teleport");
-                    p.playSound(p.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
-                });
-
-        // Countdown logic
-        for (int i = delay; i > 0; i--) {
-            int time = i;
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                players.stream()
-                        .map(Bukkit::getPlayer)
-                        .filter(p -> p != null && p.isOnline())
-                        .forEach(p -> {
-                            // Update countdown message
-                            String msg = ChatUtil.replacePlaceholders(config.getMessages().get("teleport").get(0), "{time}", String.valueOf(time));
-                            p.sendMessage(ChatUtil.color(msg));
-                            p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, 1.0f, 1.0f);
-                        });
-            }, 20L * (delay - i));
+    private YamlConfiguration withDefaults(YamlConfiguration yaml, String name, boolean copyDefaults) {
+        InputStream bundled = plugin.getResource(name);
+        if (bundled != null) {
+            yaml.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(bundled, StandardCharsets.UTF_8)));
+            yaml.options().copyDefaults(copyDefaults);
         }
+        return yaml;
+    }
 
-        // Final teleport after delay
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            players.stream()
-                    .map(Bukkit::getPlayer)
-                    .filter(p -> p != null && p.isOnline())
-                    .forEach(p -> {
-                        performRTP(p, worldName);
-                        // Set cooldown
-                        playerCooldowns.put(p.getUniqueId(), System.currentTimeMillis() + cooldown);
-                    });
-            // Recursively check the queue again in case more players joined during the delay
-            checkQueueReadiness(worldName);
-        }, 20L * delay);
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
-     * Performs the actual Random Teleport.
+     * Creates the queue menu for a player from the current menu templates.
      */
-    private void performRTP(Player player, String worldName) {
-        World world = Bukkit.getWorld(worldName);
-        if (world == null) return;
-
-        // Simple RTP logic: generate a random location
-        int x = (int) (Math.random() * 20000 - 10000);
-        int z = (int) (Math.random() * 20000 - 10000);
-        int y = world.getHighestBlockYAt(x, z) + 2;
+    public Optional<Inventory> createQueueMenu(Player player) {
+        try {
+            return Optional.of(snapshot.getQueueMenu().render(player));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to create RTP Queue Menu: " + e.getMessage());
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
 
-        Location rtpLoc = new Location(world, x, y, z);
-        player.teleport(rtpLoc);
+    /**
+     * Finds the config key for a given ItemStack, primarily used for menu listeners.
+     * Menu items carry their key in a persistent data tag, so this is a direct lookup.
+     */
+    public Optional<String> getItemKeyByItemStack(ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return Optional.empty();
+        ItemMeta meta = itemStack.getItemMeta();
+        String key = meta.getPersistentDataContainer().get(menuItemTag, PersistentDataType.STRING);
+        return key != null && snapshot.getQueueMenu().getItem(key) != null ? Optional.of(key) : Optional.empty();
+    }
+    
+    public List<MenuAction> getItemActions(String itemKey) {
+        MenuItemTemplate item = snapshot.getQueueMenu().getItem(itemKey);
+        return item != null ? item.getActions() : null;
+    }
 
-        player.sendMessage(ChatUtil.color("&aYou have been successfully teleported to &b" + worldName + "&a!"));
-        player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+    /**
+     * Gets a compiled message from messages.yml, or an empty message if the key is unknown.
+     */
+    public MessageTemplate getMessage(String key) {
+        return snapshot.getMessage(key);
     }
 
     /**
-     * Removes a player from their current queue.
+     * Sends a title and subtitle from messages.yml
      */
-    public void leaveQueue(Player player) {
-        for (List<UUID> queue : worldQueues.values()) {
-            if (queue.remove(player.getUniqueId())) {
-                config.sendMessages(player, config.getMessages().get("queue-leaved"));
-                return;
-            }
+    public void sendTitle(Player player, String key) {
+        ConfigSnapshot current = snapshot;
+        String title = current.getTitle(key);
+        String subtitle = current.getTitle(key + "-subtitle");
+        if (title != null && subtitle != null) {
+            player.sendTitle(title, subtitle, 10, 40, 10);
         }
     }
 
+
+    // Getters
+    public int getTeleportDelay() { return snapshot.getTeleportDelay(); }
+    public int getCooldown() { return snapshot.getCooldown(); }
+    public int getMaxPlayersPerQueue() { return snapshot.getMaxPlayersPerQueue(); }
+    public String getMenuTitle() { return snapshot.getMenuTitle(); }
+    public int getMenuSize() { return snapshot.getMenuSize(); }
+    public QueueMenuTemplate getQueueMenu() { return snapshot.getQueueMenu(); }
+    public long getMenuClickCooldown() { return snapshot.getMenuClickCooldown(); }
+    public int getArrivalsPerTick() { return snapshot.getArrivalsPerTick(); }
+    public int getTeleportMaxRetries() { return snapshot.getTeleportMaxRetries(); }
+    public CountdownDisplayMode getCountdownDisplayMode() { return snapshot.getCountdownDisplayMode(); }
+    public BossBar.Color getCountdownBarColor() { return snapshot.getCountdownBarColor(); }
+    public PlacementMode getPlacementMode() { return snapshot.getPlacementMode(); }
+    public int getScatterRadius() { return snapshot.getScatterRadius(); }
+    public boolean isLeaveOnWorldChange() { return snapshot.isLeaveOnWorldChange(); }
+    public boolean isLeaveOnDeath() { return snapshot.isLeaveOnDeath(); }
+    public boolean isRefillMatches() { return snapshot.isRefillMatches(); }
+    public boolean isBroadcastEnabled() { return snapshot.isBroadcastEnabled(); }
+    public long getBroadcastWindowTicks() { return snapshot.getBroadcastWindowTicks(); }
+    public long getBroadcastWorldCooldown() { return snapshot.getBroadcastWorldCooldown(); }
+    public String getBroadcastPermission() { return snapshot.getBroadcastPermission(); }
+    public MetricsSettings getMetricsSettings() { return snapshot.getMetricsSettings(); }
+    public Set<String> getConfiguredRtpWorlds() { return snapshot.getConfiguredRtpWorlds(); }
+
     /**
-     * Gets the number of players in a specific world queue.
+     * Gets a queue profile by name. A name without a configured profile that matches a loaded world
+     * queues for that world with the global settings.
      */
-    public int getQueueCount(String worldName) {
-        List<UUID> queue = worldQueues.get(worldName.toLowerCase());
-        return queue != null ? queue.size() : 0;
+    public Optional<QueueProfile> getProfile(String name) {
+        ConfigSnapshot current = snapshot;
+        String key = name.toLowerCase();
+        QueueProfile profile = current.getProfiles().get(key);
+        if (profile != null) return Optional.of(profile);
+        if (Bukkit.getWorld(name) == null) return Optional.empty();
+        return Optional.of(new QueueProfile(key, name, current.getMaxPlayersPerQueue(),
+                current.getTeleportDelay(), current.getCooldown(), current.getLocationSettings(name)));
     }
 
+    public Collection<QueueProfile> getProfiles() { return snapshot.getProfiles().values(); }
+
     /**
-     * Checks if a player is in any queue.
+     * Gets the head start in milliseconds of the best priority tier the player has, or 0.
      */
-    public boolean isPlayerInAnyQueue(Player player) {
-        for (String worldName : worldQueues.keySet()) {
-            if (worldQueues.get(worldName).contains(player.getUniqueId())) {
-                return true;
-            }
-        }
-        return false;
+    public long getPriorityHeadStart(Player player) {
+        return snapshot.getPriorityHeadStart(player);
     }
 
     /**
-     * Gets the world name the player is currently queued for.
+     * Gets the destination search settings for a world, falling back to the 'rtp' defaults.
      */
-    public String getQueuedWorld(Player player) {
-        for (Map.Entry<String, List<UUID>> entry : worldQueues.entrySet()) {
-            if (entry.getValue().contains(player.getUniqueId())) {
-                return entry.getKey();
-            }
-        }
-        return null;
+    public LocationSettings getLocationSettings(String worldName) {
+        return snapshot.getLocationSettings(worldName);
     }
 }
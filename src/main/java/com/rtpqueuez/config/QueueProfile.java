@@ -0,0 +1,19 @@
+package com.rtpqueuez.config;
+
+import com.rtpqueuez.core.QueueRules;
+import com.rtpqueuez.teleport.LocationSettings;
+
+/**
+ * A named queue with its own match rules. Several profiles may target the same world;
+ * each one has its own queue and forms matches independently.
+ *
+ * @param name             The queue name used in commands, menus and placeholders (lowercase).
+ * @param worldName        The world matches are teleported to.
+ * @param maxPlayers       How many players form a match.
+ * @param teleportDelay    Countdown length in seconds.
+ * @param cooldown         Seconds a player must wait after teleporting before queuing again.
+ * @param locationSettings Where destinations are searched for this queue.
+ */
+public record QueueProfile(String name, String worldName, int maxPlayers, int teleportDelay, int cooldown,
+                           LocationSettings locationSettings) implements QueueRules {
+}
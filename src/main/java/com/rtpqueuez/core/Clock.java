@@ -0,0 +1,15 @@
+package com.rtpqueuez.core;
+
+/**
+ * The time source of the queue core, so it can run against a virtual clock.
+ */
+@FunctionalInterface
+public interface Clock {
+
+    Clock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return The current time in epoch milliseconds.
+     */
+    long millis();
+}
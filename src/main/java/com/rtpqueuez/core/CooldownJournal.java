@@ -0,0 +1,145 @@
+package com.rtpqueuez.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of fixed-size cooldown records (UUID high bits, UUID low bits, expiry).
+ * Records are buffered in memory and appended in batches by {@link #flush()}; a later record
+ * for the same player replaces an earlier one on replay. The file is rewritten with only the
+ * live entries once stale records dominate it.
+ */
+public class CooldownJournal {
+
+    private static final int RECORD_SIZE = Long.BYTES * 3;
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private final Path file;
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_SIZE * 64);
+    private long recordsOnDisk = -1;
+
+    public CooldownJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Buffers a record; nothing touches the disk until {@link #flush()}.
+     */
+    public synchronized void record(long most, long least, long expiresAt) {
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        pending.putLong(most).putLong(least).putLong(expiresAt);
+    }
+
+    /**
+     * Appends all buffered records to the file.
+     */
+    public void flush() throws IOException {
+        ByteBuffer batch;
+        synchronized (this) {
+            if (pending.position() == 0) return;
+            pending.flip();
+            batch = ByteBuffer.allocate(pending.remaining()).put(pending).flip();
+            pending.clear();
+        }
+        synchronized (file) {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+            }
+            if (recordsOnDisk >= 0) {
+                recordsOnDisk += batch.limit() / RECORD_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Reads every complete record in the file in write order.
+     */
+    public void replay(RecordSink sink) throws IOException {
+        synchronized (file) {
+            if (!Files.exists(file)) {
+                recordsOnDisk = 0;
+                return;
+            }
+            long records = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 512);
+                while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                    buffer.flip();
+                    if (buffer.remaining() < RECORD_SIZE) break; // Truncated tail from a crash
+                    while (buffer.remaining() >= RECORD_SIZE) {
+                        sink.accept(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                        records++;
+                    }
+                    buffer.compact();
+                }
+            }
+            recordsOnDisk = records;
+        }
+    }
+
+    /**
+     * @return true once the file holds far more records than there are live cooldowns.
+     */
+    public boolean shouldCompact(int liveEntries) {
+        synchronized (file) {
+            return recordsOnDisk > COMPACT_MIN_RECORDS && recordsOnDisk > liveEntries * 4L;
+        }
+    }
+
+    /**
+     * Rewrites the file with only the records produced by {@code source}, replacing it atomically.
+     * Does nothing until the file has been replayed once, so entries not loaded yet are never lost.
+     */
+    public void compact(RecordSource source) throws IOException {
+        synchronized (file) {
+            if (recordsOnDisk < 0) return;
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long[] written = {0};
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 512);
+                source.writeTo((most, least, expiresAt) -> {
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(most).putLong(least).putLong(expiresAt);
+                    written[0]++;
+                });
+                drain(channel, buffer);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordsOnDisk = written[0];
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @FunctionalInterface
+    public interface RecordSink {
+        void accept(long most, long least, long expiresAt) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface RecordSource {
+        void writeTo(RecordSink sink) throws IOException;
+    }
+}
@@ -0,0 +1,220 @@
+package com.rtpqueuez.core;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Player cooldowns in an open-addressing hash table of primitive arrays.
+ * A UUID is stored as two longs next to its expiry time (epoch millis), so an entry costs
+ * 24 bytes instead of a boxed {@code HashMap<UUID, Long>} node. Expired entries are dropped
+ * when they are looked up and by {@link #sweep(long)}, so memory stays bounded by the number
+ * of players actually on cooldown.
+ * <p>
+ * Changes are written to an optional {@link CooldownJournal} so cooldowns survive restarts.
+ * All methods are synchronized; the main thread is the only frequent caller.
+ */
+public class CooldownStore {
+
+    private static final int MIN_CAPACITY = 64;
+    private static final long EMPTY = 0L;
+
+    private final CooldownJournal journal;
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private long[] expiries;
+    private int size;
+
+    /**
+     * @param journal Where changes are persisted, or null to keep cooldowns in memory only.
+     */
+    public CooldownStore(CooldownJournal journal) {
+        this.journal = journal;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @return Milliseconds until the player's cooldown ends, or 0 if they are not on cooldown.
+     */
+    public synchronized long getRemaining(UUID uuid, long now) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) return 0L;
+        long remaining = expiries[slot] - now;
+        if (remaining <= 0) {
+            delete(slot);
+            return 0L;
+        }
+        return remaining;
+    }
+
+    /**
+     * Puts a player on cooldown until the given time and records it in the journal.
+     */
+    public synchronized void set(UUID uuid, long expiresAt) {
+        put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), expiresAt);
+        if (journal != null) {
+            journal.record(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), expiresAt);
+        }
+    }
+
+    /**
+     * Removes every expired entry and shrinks the table if it has become mostly empty.
+     * @return The number of entries left.
+     */
+    public synchronized int sweep(long now) {
+        long[] oldMost = mostSigBits;
+        long[] oldLeast = leastSigBits;
+        long[] oldExpiries = expiries;
+
+        int live = 0;
+        for (long expiry : oldExpiries) {
+            if (expiry != EMPTY && expiry > now) live++;
+        }
+        allocate(capacityFor(live));
+        for (int i = 0; i < oldExpiries.length; i++) {
+            if (oldExpiries[i] != EMPTY && oldExpiries[i] > now) {
+                put(oldMost[i], oldLeast[i], oldExpiries[i]);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Reads the journal and merges its entries, keeping the later expiry when a player is
+     * already present. Meant to run off the main thread right after startup.
+     */
+    public void load(long now) throws IOException {
+        if (journal == null) return;
+        journal.replay((most, least, expiresAt) -> {
+            if (expiresAt <= now) return;
+            synchronized (this) {
+                int slot = find(most, least);
+                if (slot < 0 || expiries[slot] < expiresAt) {
+                    put(most, least, expiresAt);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sweeps expired entries and writes pending changes, compacting the journal once it holds
+     * mostly stale records. Safe to call from an async task.
+     */
+    public void maintain(long now) throws IOException {
+        int live = sweep(now);
+        if (journal == null) return;
+        journal.flush();
+        if (journal.shouldCompact(live)) {
+            journal.compact(this::writeLiveEntries);
+        }
+    }
+
+    /**
+     * Flushes and compacts the journal, used on shutdown.
+     */
+    public void close(long now) throws IOException {
+        sweep(now);
+        if (journal == null) return;
+        journal.flush();
+        journal.compact(this::writeLiveEntries);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized void writeLiveEntries(CooldownJournal.RecordSink sink) throws IOException {
+        for (int i = 0; i < expiries.length; i++) {
+            if (expiries[i] != EMPTY) {
+                sink.accept(mostSigBits[i], leastSigBits[i], expiries[i]);
+            }
+        }
+    }
+
+    private void put(long most, long least, long expiresAt) {
+        if (expiresAt == EMPTY) expiresAt = 1L; // 0 marks a free slot
+        int slot = find(most, least);
+        if (slot >= 0) {
+            expiries[slot] = expiresAt;
+            return;
+        }
+        if ((size + 1) * 2 > expiries.length) {
+            grow();
+        }
+        int mask = expiries.length - 1;
+        int index = home(most, least, mask);
+        while (expiries[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        mostSigBits[index] = most;
+        leastSigBits[index] = least;
+        expiries[index] = expiresAt;
+        size++;
+    }
+
+    private int find(long most, long least) {
+        int mask = expiries.length - 1;
+        int index = home(most, least, mask);
+        while (expiries[index] != EMPTY) {
+            if (mostSigBits[index] == most && leastSigBits[index] == least) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a slot and shifts the following probe chain back, so lookups never need tombstones.
+     */
+    private void delete(int slot) {
+        int mask = expiries.length - 1;
+        int gap = slot;
+        int index = slot;
+        while (true) {
+            index = (index + 1) & mask;
+            if (expiries[index] == EMPTY) break;
+            int home = home(mostSigBits[index], leastSigBits[index], mask);
+            // Move the entry into the gap if its home slot is not between the gap and its position
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                mostSigBits[gap] = mostSigBits[index];
+                leastSigBits[gap] = leastSigBits[index];
+                expiries[gap] = expiries[index];
+                gap = index;
+            }
+        }
+        expiries[gap] = EMPTY;
+        size--;
+    }
+
+    private void grow() {
+        long[] oldMost = mostSigBits;
+        long[] oldLeast = leastSigBits;
+        long[] oldExpiries = expiries;
+        allocate(oldExpiries.length * 2);
+        for (int i = 0; i < oldExpiries.length; i++) {
+            if (oldExpiries[i] != EMPTY) {
+                put(oldMost[i], oldLeast[i], oldExpiries[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        expiries = new long[capacity];
+        size = 0;
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int home(long most, long least, int mask) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
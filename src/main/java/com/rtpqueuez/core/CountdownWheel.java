@@ -0,0 +1,103 @@
+package com.rtpqueuez.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Drives the countdown of every active match, advanced one tick at a time by {@link QueueCore#tick()}.
+ * Matches are kept in a hashed timing wheel indexed by the tick they are next due,
+ * so each tick only looks at the matches whose second is up instead of every pending countdown.
+ */
+final class CountdownWheel<Q extends QueueRules> {
+
+    private static final int WHEEL_SIZE = 32; // Must be a power of two larger than TICKS_PER_SECOND
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long TICKS_PER_SECOND = 20L;
+
+    private final BiConsumer<MatchGroup<Q>, Integer> onSecond;
+    private final Consumer<MatchGroup<Q>> onFinish;
+    private final List<List<Entry<Q>>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final List<Entry<Q>> due = new ArrayList<>();
+    private int activeCount;
+    private long currentTick;
+
+    /**
+     * @param onSecond Called once per second of a match's countdown with the seconds left.
+     * @param onFinish Called when a match's countdown reaches zero.
+     */
+    CountdownWheel(BiConsumer<MatchGroup<Q>, Integer> onSecond, Consumer<MatchGroup<Q>> onFinish) {
+        this.onSecond = onSecond;
+        this.onFinish = onFinish;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    void clear() {
+        wheel.forEach(List::clear);
+        activeCount = 0;
+    }
+
+    /**
+     * Starts a match's countdown. The first second is announced immediately.
+     */
+    void schedule(MatchGroup<Q> match, int seconds) {
+        Entry<Q> entry = new Entry<>(match, seconds);
+        activeCount++;
+        fire(entry);
+    }
+
+    int getActiveCount() { return activeCount; }
+
+    /**
+     * Advances the wheel by one tick. Cancelled matches are dropped when their slot comes up.
+     */
+    void tick() {
+        currentTick++;
+        List<Entry<Q>> slot = wheel.get((int) (currentTick & WHEEL_MASK));
+        if (slot.isEmpty()) return;
+
+        Iterator<Entry<Q>> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Entry<Q> entry = iterator.next();
+            if (entry.match.isCancelled()) {
+                iterator.remove();
+                activeCount--;
+            } else if (entry.dueTick == currentTick) {
+                iterator.remove();
+                due.add(entry);
+            }
+        }
+        // Fire after the sweep so rescheduling never touches the slot being iterated
+        for (Entry<Q> entry : due) {
+            fire(entry);
+        }
+        due.clear();
+    }
+
+    private void fire(Entry<Q> entry) {
+        if (entry.secondsLeft > 0) {
+            onSecond.accept(entry.match, entry.secondsLeft);
+            entry.secondsLeft--;
+            entry.dueTick = currentTick + TICKS_PER_SECOND;
+            wheel.get((int) (entry.dueTick & WHEEL_MASK)).add(entry);
+        } else {
+            activeCount--;
+            onFinish.accept(entry.match);
+        }
+    }
+
+    private static final class Entry<Q extends QueueRules> {
+        private final MatchGroup<Q> match;
+        private int secondsLeft;
+        private long dueTick;
+
+        private Entry(MatchGroup<Q> match, int secondsLeft) {
+            this.match = match;
+            this.secondsLeft = secondsLeft;
+        }
+    }
+}
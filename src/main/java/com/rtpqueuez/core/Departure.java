@@ -0,0 +1,23 @@
+package com.rtpqueuez.core;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What {@link QueueCore#depart} did for a player who left.
+ *
+ * @param leftQueue   The queue the player was removed from, or null if they were not queued.
+ * @param match       The match the player was counting down in, or null.
+ * @param replacement The player who took the slot, or null if the match was cancelled or there was none.
+ * @param requeued    The members put back at the front of the queue when the match was cancelled.
+ */
+public record Departure<Q extends QueueRules>(String leftQueue, MatchGroup<Q> match, UUID replacement, List<UUID> requeued) {
+
+    public boolean isRefilled() {
+        return replacement != null;
+    }
+
+    public boolean isMatchCancelled() {
+        return match != null && match.isCancelled();
+    }
+}
@@ -0,0 +1,251 @@
+package com.rtpqueuez.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Priority queues keyed by name with a reverse index from player to queue node.
+ * Each queue is an indexed binary min-heap ordered by a rank chosen by the caller (lower is
+ * served first), with ties broken by insertion order. Every node knows its heap slot, so
+ * joining, leaving and changing a player's rank are O(log n), lookups are O(1) and dequeuing
+ * a match of k players is O(k log n). A player can be in at most one queue at a time.
+ * <p>
+ * Safe to use from any thread. Reads ({@link #size}, {@link #getQueue}, {@link #contains})
+ * are lock-free: sizes are atomic counters and the index is a concurrent map.
+ * Mutations take a lock on the affected queue only, so different queues never contend.
+ */
+public class IndexedQueues {
+
+    private static final Comparator<Node> ORDER = Comparator.<Node>comparingLong(node -> node.rank).thenComparingLong(node -> node.sequence);
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<UUID, Node> index = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a player to a queue.
+     * @param rank The player's position key; lower ranks are served first.
+     * @return false if the player is already in a queue.
+     */
+    public boolean add(UUID uuid, String queueKey, long rank) {
+        return insert(uuid, queueKey, rank, false);
+    }
+
+    /**
+     * Puts a player ahead of everyone in a queue, e.g. when their match was cancelled.
+     * Players added this way one after another end up in reverse order of the calls.
+     * @return false if the player is already in a queue.
+     */
+    public boolean addFirst(UUID uuid, String queueKey) {
+        return insert(uuid, queueKey, 0L, true);
+    }
+
+    /**
+     * Changes a queued player's rank, e.g. after their priority changed.
+     * @return false if the player is not queued.
+     */
+    public boolean updateRank(UUID uuid, long rank) {
+        Node node = index.get(uuid);
+        if (node == null) return false;
+        Lane lane = node.lane;
+        synchronized (lane) {
+            if (node.slot < 0) return false;
+            long previous = node.rank;
+            if (rank == previous) return true;
+            node.rank = rank;
+            if (rank < previous) {
+                lane.siftUp(node.slot);
+            } else {
+                lane.siftDown(node.slot);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a player from whichever queue they are in.
+     * @return The key of the queue the player was removed from, or null if they were not queued.
+     */
+    public String remove(UUID uuid) {
+        Node node = index.remove(uuid);
+        if (node == null) return null;
+        Lane lane = node.lane;
+        synchronized (lane) {
+            node.removed = true;
+            lane.delete(node);
+        }
+        return lane.key;
+    }
+
+    /**
+     * Removes and returns up to {@code count} players from the front of a queue.
+     */
+    public List<UUID> poll(String queueKey, int count) {
+        Lane lane = lanes.get(queueKey);
+        if (lane == null || lane.size.get() == 0) return Collections.emptyList();
+
+        List<UUID> polled = new ArrayList<>(count);
+        synchronized (lane) {
+            while (polled.size() < count && lane.count > 0) {
+                Node node = lane.heap[0];
+                node.removed = true;
+                lane.delete(node);
+                index.remove(node.uuid, node);
+                polled.add(node.uuid);
+            }
+        }
+        return polled;
+    }
+
+    /**
+     * Removes every player from every queue, e.g. on shutdown.
+     */
+    public void clear() {
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                while (lane.count > 0) {
+                    // Deleting the last slot needs no sifting
+                    Node node = lane.heap[lane.count - 1];
+                    node.removed = true;
+                    lane.delete(node);
+                    index.remove(node.uuid, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The key of the queue the player is in, or null. Lock-free.
+     */
+    public String getQueue(UUID uuid) {
+        Node node = index.get(uuid);
+        return node != null ? node.lane.key : null;
+    }
+
+    public boolean contains(UUID uuid) {
+        return index.containsKey(uuid);
+    }
+
+    /**
+     * @return The keys of every queue that has held players, including queues that are empty now.
+     */
+    public Set<String> keys() {
+        return Set.copyOf(lanes.keySet());
+    }
+
+    /**
+     * @return The number of players in a queue. Lock-free.
+     */
+    public int size(String queueKey) {
+        Lane lane = lanes.get(queueKey);
+        return lane != null ? lane.size.get() : 0;
+    }
+
+    private boolean insert(UUID uuid, String queueKey, long rank, boolean first) {
+        Lane lane = lanes.computeIfAbsent(queueKey, Lane::new);
+        Node node = new Node(uuid, lane);
+        // Claiming the index entry first makes "one queue per player" atomic across threads
+        if (index.putIfAbsent(uuid, node) != null) return false;
+        synchronized (lane) {
+            // A concurrent remove may already have claimed the node back
+            if (node.removed) return true;
+            if (first) {
+                rank = lane.count > 0 ? lane.heap[0].rank - 1 : Long.MIN_VALUE / 2;
+            }
+            node.rank = rank;
+            node.sequence = lane.sequence++;
+            lane.push(node);
+        }
+        return true;
+    }
+
+    private static final class Lane {
+        private final String key;
+        private final AtomicInteger size = new AtomicInteger();
+        private Node[] heap = new Node[16];
+        private int count;
+        private long sequence;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+
+        private void push(Node node) {
+            if (count == heap.length) {
+                heap = Arrays.copyOf(heap, count * 2);
+            }
+            heap[count] = node;
+            node.slot = count++;
+            siftUp(node.slot);
+            size.incrementAndGet();
+        }
+
+        private void delete(Node node) {
+            int slot = node.slot;
+            if (slot < 0) return;
+            Node last = heap[--count];
+            heap[count] = null;
+            node.slot = -1;
+            if (last != node) {
+                heap[slot] = last;
+                last.slot = slot;
+                siftDown(slot);
+                siftUp(last.slot);
+            }
+            size.decrementAndGet();
+        }
+
+        private void siftUp(int slot) {
+            Node node = heap[slot];
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (ORDER.compare(node, heap[parent]) >= 0) break;
+                place(heap[parent], slot);
+                slot = parent;
+            }
+            place(node, slot);
+        }
+
+        private void siftDown(int slot) {
+            Node node = heap[slot];
+            int half = count >>> 1;
+            while (slot < half) {
+                int child = 2 * slot + 1;
+                int right = child + 1;
+                if (right < count && ORDER.compare(heap[right], heap[child]) < 0) {
+                    child = right;
+                }
+                if (ORDER.compare(node, heap[child]) <= 0) break;
+                place(heap[child], slot);
+                slot = child;
+            }
+            place(node, slot);
+        }
+
+        private void place(Node node, int slot) {
+            heap[slot] = node;
+            node.slot = slot;
+        }
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final Lane lane;
+        private long rank;
+        private long sequence;
+        private int slot = -1;
+        private boolean removed;
+
+        private Node(UUID uuid, Lane lane) {
+            this.uuid = uuid;
+            this.lane = lane;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rtpqueuez.core;
+
+/**
+ * The outcome of {@link QueueCore#join}.
+ *
+ * @param outcome           What happened.
+ * @param queueKey          The resolved queue key, or null if the queue is unknown.
+ * @param cooldownRemaining Milliseconds left on the player's cooldown when the outcome is {@link Outcome#ON_COOLDOWN}.
+ */
+public record JoinResult(Outcome outcome, String queueKey, long cooldownRemaining) {
+
+    public enum Outcome {
+        JOINED,
+        UNKNOWN_QUEUE,
+        ON_COOLDOWN,
+        /** Already queued or counting down; the player's priority was refreshed instead. */
+        ALREADY_QUEUED
+    }
+}
@@ -0,0 +1,38 @@
+package com.rtpqueuez.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The players of a match counting down, as tracked by the queue core.
+ */
+public final class MatchGroup<Q extends QueueRules> {
+
+    private final Q rules;
+    private final List<UUID> members;
+    private boolean cancelled;
+
+    MatchGroup(Q rules, List<UUID> members) {
+        this.rules = rules;
+        this.members = new ArrayList<>(members);
+    }
+
+    void addMember(UUID player) {
+        members.add(player);
+    }
+
+    void removeMember(UUID player) {
+        members.remove(player);
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    public Q getRules() { return rules; }
+    public String getQueueName() { return rules.name(); }
+    public List<UUID> getMembers() { return Collections.unmodifiableList(members); }
+    public boolean isCancelled() { return cancelled; }
+}
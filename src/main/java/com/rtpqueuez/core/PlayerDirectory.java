@@ -0,0 +1,12 @@
+package com.rtpqueuez.core;
+
+import java.util.UUID;
+
+/**
+ * Tells the queue core which players are still connected.
+ */
+@FunctionalInterface
+public interface PlayerDirectory {
+
+    boolean isOnline(UUID player);
+}
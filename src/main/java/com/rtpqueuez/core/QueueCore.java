@@ -0,0 +1,370 @@
+package com.rtpqueuez.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Matchmaking, cooldowns and countdowns without any server API, so the same logic runs in the
+ * plugin, in the load simulator and in tests.
+ * <p>
+ * Players wait in per-queue priority heaps ranked by join time minus their priority head start.
+ * Joins are buffered and matches are formed on the next {@link #tick()}, which also advances
+ * every countdown. The platform calls {@code tick()} once per server tick and reacts to
+ * {@link QueueEvents}; messages, destinations and teleports stay on its side.
+ * <p>
+ * Not thread-safe: everything except the lookups and the cooldown methods must be called from
+ * one thread (the global region, or the main thread on Paper).
+ */
+public class QueueCore<Q extends QueueRules> {
+
+    private final QueueDirectory<Q> queues;
+    private final PlayerDirectory players;
+    private final Clock clock;
+    private final CooldownStore cooldowns;
+    private final QueueEvents<Q> events;
+    private final IndexedQueues waiting = new IndexedQueues();
+    // When each player joined their queue, kept through a match's countdown so a cancelled match
+    // requeues its members with it; their rank is recomputed from it if their priority changes
+    private final Map<UUID, Long> joinTimes = new HashMap<>();
+    // Members of matches that are still counting down, for O(1) lookup when a player leaves
+    private final Map<UUID, MatchGroup<Q>> countingDown = new HashMap<>();
+    // Joins since the last formation pass, per queue; drained once per tick
+    private final Map<String, Set<UUID>> pendingJoins = new LinkedHashMap<>();
+    private final CountdownWheel<Q> countdowns;
+
+    public QueueCore(QueueDirectory<Q> queues, PlayerDirectory players, Clock clock, CooldownStore cooldowns, QueueEvents<Q> events) {
+        this.queues = queues;
+        this.players = players;
+        this.clock = clock;
+        this.cooldowns = cooldowns;
+        this.events = events;
+        this.countdowns = new CountdownWheel<>(events::countdownSecond, this::finishCountdown);
+    }
+
+    /**
+     * Attempts to join a player to a queue, given by profile name or world name.
+     * @param headStart The player's priority head start in milliseconds.
+     */
+    public JoinResult join(UUID player, String queueName, long headStart) {
+        Optional<Q> rules = queues.find(queueName);
+        if (rules.isEmpty()) {
+            return new JoinResult(JoinResult.Outcome.UNKNOWN_QUEUE, null, 0L);
+        }
+        String queueKey = rules.get().name();
+
+        // 1. Check Cooldown
+        long now = clock.millis();
+        long remainingMillis = cooldowns.getRemaining(player, now);
+        if (remainingMillis > 0) {
+            return new JoinResult(JoinResult.Outcome.ON_COOLDOWN, queueKey, remainingMillis);
+        }
+
+        // 2. Check if already in queue or waiting for a teleport
+        String currentQueue = waiting.getQueue(player);
+        MatchGroup<Q> currentMatch = countingDown.get(player);
+        if (currentQueue != null || currentMatch != null) {
+            // Joining again picks up a priority that changed since the first join
+            refreshPriority(player, headStart);
+            // Reported with the queue they are actually in, which need not be the one they asked for
+            String queuedIn = currentQueue != null ? currentQueue : currentMatch.getQueueName();
+            return new JoinResult(JoinResult.Outcome.ALREADY_QUEUED, queuedIn, 0L);
+        }
+
+        // 3. Add to queue, ranked by join time minus the player's priority head start.
+        // A normal player who has waited longer than a tier's head start is served before a new player of that tier.
+        joinTimes.put(player, now);
+        waiting.add(player, queueKey, now - headStart);
+        events.queueChanged(queueKey);
+
+        // 4. Matches are formed once per tick for all joins buffered until then
+        requestFormation(queueKey, player);
+        return new JoinResult(JoinResult.Outcome.JOINED, queueKey, 0L);
+    }
+
+    /**
+     * Removes a player from their current queue.
+     * @return The key of the queue they left, or null if they were not queued.
+     */
+    public String leave(UUID player) {
+        joinTimes.remove(player);
+        String queueKey = waiting.remove(player);
+        if (queueKey != null) {
+            events.queueChanged(queueKey);
+        }
+        return queueKey;
+    }
+
+    /**
+     * Handles a player who quit, changed worlds or died: removes them from their queue and,
+     * if they were counting down in a match, refills their slot from the queue or cancels the match.
+     * @param refill Whether the slot may be given to the next player in the queue.
+     */
+    public Departure<Q> depart(UUID player, boolean refill) {
+        String leftQueue = leave(player);
+
+        MatchGroup<Q> match = countingDown.remove(player);
+        if (match == null || match.isCancelled()) {
+            return new Departure<>(leftQueue, null, null, List.of());
+        }
+        match.removeMember(player);
+
+        String queueKey = match.getQueueName();
+        UUID replacement = refill ? pollOnline(queueKey) : null;
+        if (replacement != null) {
+            match.addMember(replacement);
+            countingDown.put(replacement, match);
+            return new Departure<>(leftQueue, match, replacement, List.of());
+        }
+
+        // Nobody can take the slot: cancel cleanly and keep the remaining members at the front of the queue.
+        // They are requeued first so the cancel keeps their join times
+        List<UUID> requeued = requeueFirst(queueKey, new ArrayList<>(match.getMembers()));
+        cancel(match);
+        // Together with the players already waiting they may fill a match again
+        requestFormation(queueKey, null);
+        return new Departure<>(leftQueue, match, null, requeued);
+    }
+
+    /**
+     * Re-ranks a queued player after their priority tier changed, in O(log n).
+     */
+    public void refreshPriority(UUID player, long headStart) {
+        Long joined = joinTimes.get(player);
+        if (joined != null) {
+            waiting.updateRank(player, joined - headStart);
+        }
+    }
+
+    /**
+     * Stops a match's countdown. Its members are no longer tracked, except those already back
+     * in a queue, and it is dropped from the countdown wheel.
+     */
+    public void cancel(MatchGroup<Q> match) {
+        match.cancel();
+        for (UUID member : match.getMembers()) {
+            countingDown.remove(member, match);
+            if (!waiting.contains(member)) {
+                joinTimes.remove(member);
+            }
+        }
+    }
+
+    /**
+     * Puts a player on cooldown, starting now. Safe to call from any thread.
+     */
+    public void startCooldown(UUID player, long durationMillis) {
+        cooldowns.set(player, clock.millis() + durationMillis);
+    }
+
+    /**
+     * Advances every countdown by one tick, then forms matches from the joins buffered since the last tick.
+     */
+    public void tick() {
+        countdowns.tick();
+        if (pendingJoins.isEmpty()) return;
+        Map<String, Set<UUID>> batch = new LinkedHashMap<>(pendingJoins);
+        pendingJoins.clear();
+        batch.forEach(this::formMatches);
+    }
+
+    /**
+     * Removes every player waiting in a queue that no longer resolves, e.g. after a config reload
+     * removed its profile. A removed profile named after a loaded world resolves to that world's
+     * queue, so its players stay. Matches already counting down keep the rules they started with.
+     * @return The removed players by the key of the queue they were in.
+     */
+    public Map<String, List<UUID>> dropUnknownQueues() {
+        Map<String, List<UUID>> dropped = new LinkedHashMap<>();
+        for (String queueKey : waiting.keys()) {
+            int size = waiting.size(queueKey);
+            if (size == 0 || queues.find(queueKey).isPresent()) continue;
+            List<UUID> players = waiting.poll(queueKey, size);
+            players.forEach(joinTimes::remove);
+            pendingJoins.remove(queueKey);
+            events.queueChanged(queueKey);
+            dropped.put(queueKey, players);
+        }
+        return dropped;
+    }
+
+    /**
+     * Drops every queue, countdown and buffered join, used on shutdown.
+     * Cooldowns are kept; they belong to the {@link CooldownStore}.
+     */
+    public void clear() {
+        countdowns.clear();
+        countingDown.values().forEach(MatchGroup::cancel);
+        countingDown.clear();
+        pendingJoins.clear();
+        // Emptied directly: a shutdown has nobody left to tell about queue changes
+        waiting.clear();
+        joinTimes.clear();
+    }
+
+    /**
+     * @return The number of players in a queue. Safe to call from any thread.
+     */
+    public int size(String queueKey) {
+        return waiting.size(queueKey);
+    }
+
+    /**
+     * @return The key of the queue the player is in, or null. Safe to call from any thread.
+     */
+    public String getQueue(UUID player) {
+        return waiting.getQueue(player);
+    }
+
+    public boolean isQueued(UUID player) {
+        return waiting.contains(player);
+    }
+
+    /**
+     * @return The match the player is counting down in, or null.
+     */
+    public MatchGroup<Q> getMatch(UUID player) {
+        return countingDown.get(player);
+    }
+
+    /**
+     * @return Milliseconds until the player's cooldown ends. Safe to call from any thread.
+     */
+    public long getCooldownRemaining(UUID player) {
+        return cooldowns.getRemaining(player, clock.millis());
+    }
+
+    /**
+     * @return The number of matches counting down. Exact on the thread calling {@link #tick()}, may lag elsewhere.
+     */
+    public int getActiveCountdowns() {
+        return countdowns.getActiveCount();
+    }
+
+    /**
+     * Queues a formation pass for a queue. All joins within a tick are handled by one pass.
+     * @param joined The player who just joined, or null when only a recheck is needed.
+     */
+    private void requestFormation(String queueKey, UUID joined) {
+        Set<UUID> joins = pendingJoins.computeIfAbsent(queueKey, key -> new LinkedHashSet<>());
+        if (joined != null) {
+            joins.add(joined);
+        }
+    }
+
+    /**
+     * Forms as many matches as the queue allows in one pass, then reports each player who joined
+     * in this batch and is still waiting once.
+     */
+    private void formMatches(String queueKey, Set<UUID> joins) {
+        Optional<Q> rules = queues.find(queueKey);
+        if (rules.isEmpty()) return; // The queue's world was unloaded
+        int maxPlayers = rules.get().maxPlayers();
+        boolean changed = false;
+
+        while (waiting.size(queueKey) >= maxPlayers) {
+            // Take the required number of players from the queue's front in O(k log n)
+            List<UUID> polled = waiting.poll(queueKey, maxPlayers);
+            changed = true;
+
+            List<UUID> members = new ArrayList<>(polled.size());
+            for (UUID player : polled) {
+                if (players.isOnline(player)) {
+                    members.add(player);
+                } else {
+                    joinTimes.remove(player);
+                }
+            }
+            if (members.size() < maxPlayers) {
+                // Departed players are purged on quit, so this only happens in a race; never start a short match.
+                // The offline players are gone now, so try again next tick
+                requeueFirst(queueKey, members);
+                requestFormation(queueKey, null);
+                break;
+            }
+            startMatch(rules.get(), members);
+        }
+        if (changed) {
+            events.queueChanged(queueKey);
+        }
+
+        int left = waiting.size(queueKey);
+        if (left == 0) return;
+        for (UUID player : joins) {
+            if (queueKey.equals(waiting.getQueue(player))) { // Skip players matched or gone in the meantime
+                events.stillWaiting(player, queueKey, left);
+            }
+        }
+    }
+
+    private void startMatch(Q rules, List<UUID> members) {
+        MatchGroup<Q> match = new MatchGroup<>(rules, members);
+        long now = clock.millis();
+        for (UUID member : members) {
+            countingDown.put(member, match);
+            matched(member, rules.name(), now);
+        }
+        events.matchStarted(match);
+        countdowns.schedule(match, rules.teleportDelay());
+    }
+
+    private void finishCountdown(MatchGroup<Q> match) {
+        for (UUID member : match.getMembers()) {
+            countingDown.remove(member, match);
+            joinTimes.remove(member);
+        }
+        events.countdownFinished(match);
+        // Check the queue again in case more players joined during the delay
+        requestFormation(match.getQueueName(), null);
+    }
+
+    private UUID pollOnline(String queueKey) {
+        while (waiting.size(queueKey) > 0) {
+            List<UUID> polled = waiting.poll(queueKey, 1);
+            if (polled.isEmpty()) break;
+            UUID player = polled.get(0);
+            events.queueChanged(queueKey);
+            if (players.isOnline(player)) {
+                matched(player, queueKey, clock.millis());
+                return player;
+            }
+            joinTimes.remove(player);
+        }
+        return null;
+    }
+
+    /**
+     * Reports how long a player waited since joining. The join time is kept until the countdown ends,
+     * so a player requeued after a cancelled match reports their whole wait when matched again.
+     */
+    private void matched(UUID player, String queueKey, long now) {
+        Long joined = joinTimes.get(player);
+        if (joined != null) {
+            events.playerMatched(player, queueKey, now - joined);
+        }
+    }
+
+    /**
+     * Puts players back at the front of a queue, keeping their order and their original join times.
+     * @return The players who were still online and got requeued.
+     */
+    private List<UUID> requeueFirst(String queueKey, List<UUID> members) {
+        List<UUID> requeued = new ArrayList<>(members.size());
+        for (int i = members.size() - 1; i >= 0; i--) {
+            UUID player = members.get(i);
+            if (players.isOnline(player) && waiting.addFirst(player, queueKey)) {
+                requeued.add(0, player);
+            } else if (!countingDown.containsKey(player)) {
+                joinTimes.remove(player);
+            }
+        }
+        events.queueChanged(queueKey);
+        return requeued;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rtpqueuez.core;
+
+import java.util.Optional;
+
+/**
+ * Resolves queue names to their rules. On a server this is where configured profiles and
+ * loaded worlds are looked up; a queue whose world is gone resolves to nothing.
+ */
+@FunctionalInterface
+public interface QueueDirectory<Q extends QueueRules> {
+
+    /**
+     * @param name A queue name as typed by a player, or a key returned by {@link QueueRules#name()}.
+     */
+    Optional<Q> find(String name);
+}
@@ -0,0 +1,47 @@
+package com.rtpqueuez.core;
+
+import java.util.UUID;
+
+/**
+ * Callbacks from the queue core to the platform. They run on the thread calling the core.
+ * Every method does nothing by default.
+ */
+public interface QueueEvents<Q extends QueueRules> {
+
+    /**
+     * A queue's size changed.
+     */
+    default void queueChanged(String queueKey) {
+    }
+
+    /**
+     * A match formed; its countdown starts right after this returns.
+     */
+    default void matchStarted(MatchGroup<Q> match) {
+    }
+
+    /**
+     * A player left the queue for a match, either when it formed or as a replacement.
+     * @param waitMillis Time since the player joined the queue.
+     */
+    default void playerMatched(UUID player, String queueKey, long waitMillis) {
+    }
+
+    /**
+     * One second of a match's countdown, with the seconds left.
+     */
+    default void countdownSecond(MatchGroup<Q> match, int secondsLeft) {
+    }
+
+    /**
+     * A match's countdown reached zero and its members are no longer tracked by the core.
+     */
+    default void countdownFinished(MatchGroup<Q> match) {
+    }
+
+    /**
+     * A player who joined since the last tick is still waiting after matches were formed.
+     */
+    default void stillWaiting(UUID player, String queueKey, int waiting) {
+    }
+}
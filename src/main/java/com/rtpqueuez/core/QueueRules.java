@@ -0,0 +1,27 @@
+package com.rtpqueuez.core;
+
+/**
+ * What the queue core needs to know about a queue to form and count down its matches.
+ */
+public interface QueueRules {
+
+    /**
+     * @return The queue key (lowercase).
+     */
+    String name();
+
+    /**
+     * @return How many players form a match.
+     */
+    int maxPlayers();
+
+    /**
+     * @return Countdown length in seconds.
+     */
+    int teleportDelay();
+
+    /**
+     * @return Seconds a player must wait after teleporting before queuing again.
+     */
+    int cooldown();
+}
@@ -0,0 +1,73 @@
+package com.rtpqueuez.exclusion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable uniform grid over the exclusion zones of one world.
+ * Each 512x512 cell lists only the zones overlapping it, so a lookup is one map probe plus
+ * a check of the few zones in that cell, independent of how many zones the world has.
+ * Zones too large to register cell by cell are kept in a short list checked on every lookup.
+ */
+public final class ExclusionIndex {
+
+    private static final int CELL_SHIFT = 9;
+    private static final int MAX_CELLS_PER_ZONE = 4096;
+    private static final ExclusionZone[] NONE = new ExclusionZone[0];
+
+    public static final ExclusionIndex EMPTY = new ExclusionIndex(List.of());
+
+    private final Map<Long, ExclusionZone[]> cells;
+    private final ExclusionZone[] large;
+    private final int zoneCount;
+
+    public ExclusionIndex(List<? extends ExclusionZone> zones) {
+        Map<Long, List<ExclusionZone>> building = new HashMap<>();
+        List<ExclusionZone> largeZones = new ArrayList<>();
+        for (ExclusionZone zone : zones) {
+            int minCellX = zone.minX() >> CELL_SHIFT;
+            int maxCellX = zone.maxX() >> CELL_SHIFT;
+            int minCellZ = zone.minZ() >> CELL_SHIFT;
+            int maxCellZ = zone.maxZ() >> CELL_SHIFT;
+            long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+            if (cellCount > MAX_CELLS_PER_ZONE) {
+                largeZones.add(zone);
+                continue;
+            }
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    building.computeIfAbsent(cellKey(cellX, cellZ), key -> new ArrayList<>(2)).add(zone);
+                }
+            }
+        }
+
+        this.cells = new HashMap<>(building.size() * 2);
+        building.forEach((key, list) -> cells.put(key, list.toArray(NONE)));
+        this.large = largeZones.toArray(NONE);
+        this.zoneCount = zones.size();
+    }
+
+    /**
+     * Whether a block column lies inside any exclusion zone.
+     */
+    public boolean isExcluded(int x, int z) {
+        for (ExclusionZone zone : large) {
+            if (zone.contains(x, z)) return true;
+        }
+        if (cells.isEmpty()) return false;
+        ExclusionZone[] candidates = cells.get(cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (candidates == null) return false;
+        for (ExclusionZone zone : candidates) {
+            if (zone.contains(x, z)) return true;
+        }
+        return false;
+    }
+
+    public int size() { return zoneCount; }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
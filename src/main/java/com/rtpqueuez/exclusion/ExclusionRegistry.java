@@ -0,0 +1,143 @@
+package com.rtpqueuez.exclusion;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the exclusion index of every world, built from exclusions.yml and, when enabled
+ * and installed, WorldGuard regions. Indexes are immutable and swapped in as a whole,
+ * so lookups from any thread never see a half-built index.
+ * <p>
+ * The indexes are rebuilt on an async timer and on '/rtpqueue reload', so regions claimed
+ * while the server runs are excluded too.
+ */
+public class ExclusionRegistry {
+
+    private static final String[] RECT_KEYS = {"min-x", "min-z", "max-x", "max-z"};
+
+    private final RTPQueueZ plugin;
+    private volatile Map<String, ExclusionIndex> indexes = Map.of();
+    private TaskHandle refreshTask;
+    private long refreshTicks;
+    private int importedRegions = -1;
+
+    public ExclusionRegistry(RTPQueueZ plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * (Re)builds every world's index and reschedules the periodic rebuild if its interval changed.
+     * Safe to call from an async task.
+     */
+    public synchronized void load() {
+        File file = new File(plugin.getDataFolder(), "exclusions.yml");
+        if (!file.exists()) {
+            plugin.saveResource("exclusions.yml", false);
+        }
+        FileConfiguration exclusions = YamlConfiguration.loadConfiguration(file);
+
+        Map<String, List<ExclusionZone>> zones = new HashMap<>();
+        ConfigurationSection worlds = exclusions.getConfigurationSection("worlds");
+        if (worlds != null) {
+            for (String worldName : worlds.getKeys(false)) {
+                ConfigurationSection worldSection = worlds.getConfigurationSection(worldName);
+                if (worldSection == null) continue;
+                List<ExclusionZone> worldZones = zones.computeIfAbsent(worldName.toLowerCase(), key -> new ArrayList<>());
+                for (String zoneName : worldSection.getKeys(false)) {
+                    ExclusionZone zone = readZone(worldName, zoneName, worldSection.getConfigurationSection(zoneName));
+                    if (zone != null) {
+                        worldZones.add(zone);
+                    }
+                }
+            }
+        }
+
+        if (exclusions.getBoolean("worldguard.enabled", true) && Bukkit.getPluginManager().isPluginEnabled("WorldGuard")) {
+            int padding = Math.max(0, exclusions.getInt("worldguard.padding", 16));
+            int imported = 0;
+            for (World world : Bukkit.getWorlds()) {
+                List<ExclusionZone> regions = WorldGuardImporter.importRegions(world, padding);
+                zones.computeIfAbsent(world.getName().toLowerCase(), key -> new ArrayList<>()).addAll(regions);
+                imported += regions.size();
+            }
+            // Rebuilt every few minutes, so only report when the number of regions changed
+            if (imported != importedRegions) {
+                plugin.getLogger().info("Imported " + imported + " WorldGuard regions as exclusion zones.");
+                importedRegions = imported;
+            }
+        }
+
+        Map<String, ExclusionIndex> built = new HashMap<>();
+        zones.forEach((world, list) -> {
+            if (!list.isEmpty()) built.put(world, new ExclusionIndex(list));
+        });
+        indexes = Map.copyOf(built);
+
+        schedule(Math.max(0L, exclusions.getLong("refresh-seconds", 300L)) * 20L);
+    }
+
+    public synchronized void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        refreshTicks = 0L;
+    }
+
+    private void schedule(long ticks) {
+        if (ticks == refreshTicks) return;
+        stop();
+        refreshTicks = ticks;
+        if (ticks > 0) {
+            refreshTask = plugin.getTaskScheduler().runAsyncTimer(this::load, ticks, ticks);
+        }
+    }
+
+    private ExclusionZone readZone(String worldName, String zoneName, ConfigurationSection section) {
+        String invalid = "Invalid exclusion zone '" + zoneName + "' in world " + worldName;
+        if (section == null) {
+            plugin.getLogger().warning(invalid);
+            return null;
+        }
+        String type = section.getString("type", "rect");
+        if (type.equalsIgnoreCase("circle")) {
+            int radius = section.getInt("radius", -1);
+            if (radius < 0) {
+                plugin.getLogger().warning(invalid + ": 'radius' is missing or negative");
+                return null;
+            }
+            return new ExclusionZone.Circle(section.getInt("center-x", 0), section.getInt("center-z", 0), radius);
+        }
+        if (type.equalsIgnoreCase("rect") || type.equalsIgnoreCase("rectangle")) {
+            // A missing corner would silently stretch the zone to coordinate 0
+            for (String key : RECT_KEYS) {
+                if (!section.contains(key)) {
+                    plugin.getLogger().warning(invalid + ": '" + key + "' is missing");
+                    return null;
+                }
+            }
+            return new ExclusionZone.Rectangle(section.getInt("min-x"), section.getInt("min-z"),
+                    section.getInt("max-x"), section.getInt("max-z"));
+        }
+        plugin.getLogger().warning(invalid + ": unknown type '" + type + "'");
+        return null;
+    }
+
+    /**
+     * Gets the index for a world, or an empty index if the world has no exclusions.
+     */
+    public ExclusionIndex get(String worldName) {
+        return indexes.getOrDefault(worldName.toLowerCase(), ExclusionIndex.EMPTY);
+    }
+}
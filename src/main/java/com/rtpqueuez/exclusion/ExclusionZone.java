@@ -0,0 +1,45 @@
+package com.rtpqueuez.exclusion;
+
+/**
+ * An area random teleports must never land in, in block coordinates (inclusive).
+ */
+public interface ExclusionZone {
+
+    boolean contains(int x, int z);
+
+    int minX();
+
+    int minZ();
+
+    int maxX();
+
+    int maxZ();
+
+    record Rectangle(int minX, int minZ, int maxX, int maxZ) implements ExclusionZone {
+
+        public Rectangle {
+            if (minX > maxX) { int swap = minX; minX = maxX; maxX = swap; }
+            if (minZ > maxZ) { int swap = minZ; minZ = maxZ; maxZ = swap; }
+        }
+
+        @Override
+        public boolean contains(int x, int z) {
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
+    record Circle(int centerX, int centerZ, int radius) implements ExclusionZone {
+
+        @Override
+        public boolean contains(int x, int z) {
+            long dx = x - centerX;
+            long dz = z - centerZ;
+            return dx * dx + dz * dz <= (long) radius * radius;
+        }
+
+        @Override public int minX() { return centerX - radius; }
+        @Override public int minZ() { return centerZ - radius; }
+        @Override public int maxX() { return centerX + radius; }
+        @Override public int maxZ() { return centerZ + radius; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rtpqueuez.exclusion;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionType;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads WorldGuard regions as rectangular exclusion zones (their bounding boxes).
+ * Only referenced when WorldGuard is enabled, so the plugin runs without it.
+ */
+final class WorldGuardImporter {
+
+    private WorldGuardImporter() {
+    }
+
+    static List<ExclusionZone> importRegions(World world, int padding) {
+        RegionManager regions = WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+        if (regions == null) return List.of();
+
+        List<ExclusionZone> zones = new ArrayList<>();
+        for (ProtectedRegion region : regions.getRegions().values()) {
+            if (region.getType() == RegionType.GLOBAL) continue;
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+            zones.add(new ExclusionZone.Rectangle(min.getBlockX() - padding, min.getBlockZ() - padding,
+                    max.getBlockX() + padding, max.getBlockZ() + padding));
+        }
+        return zones;
+    }
+}
@@ -2,24 +2,31 @@ package com.rtpqueuez.listeners;
 
 import com.rtpqueuez.RTPQueueZ;
 import com.rtpqueuez.config.QueueConfig;
-import com.rtpqueuez.util.ChatUtil;
-import org.bukkit.Bukkit;
+import com.rtpqueuez.menu.MenuAction;
+import com.rtpqueuez.menu.QueueMenuHolder;
+import com.rtpqueuez.metrics.PluginMetrics;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
 public class MenuListener implements Listener {
 
     private final RTPQueueZ plugin;
     private final QueueConfig config;
+    // Keyed by the Player object, so entries disappear on their own once a player logs out.
+    // Synchronized because on Folia clicks arrive on the region thread of each player.
+    private final Map<Player, Long> lastClicks = Collections.synchronizedMap(new WeakHashMap<>());
 
     public MenuListener(RTPQueueZ plugin, QueueConfig config) {
         this.plugin = plugin;
@@ -28,17 +35,26 @@ public class MenuListener implements Listener {
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
+        // Check if the top inventory is one of our queue menus (no snapshot, one identity check)
+        if (!(event.getInventory().getHolder(false) instanceof QueueMenuHolder)) {
+            return;
+        }
+        long start = System.nanoTime();
+        handleMenuClick(event);
+        plugin.getMetrics().recordSection(PluginMetrics.SECTION_MENU_CLICK, start);
+    }
+
+    private void handleMenuClick(InventoryClickEvent event) {
+        event.setCancelled(true);
+
         Player player = (Player) event.getWhoClicked();
         Inventory clickedInventory = event.getClickedInventory();
         ItemStack currentItem = event.getCurrentItem();
 
-        // Check if the clicked inventory is one of our queue menus
-        if (clickedInventory == null || !event.getView().getTitle().equals(config.getMenuTitle())) {
+        if (clickedInventory == null) {
             return;
         }
 
-        event.setCancelled(true);
-
         if (currentItem == null || currentItem.getType() == Material.AIR) {
             return;
         }
@@ -47,29 +63,33 @@ public class MenuListener implements Listener {
         Optional<String> itemKey = config.getItemKeyByItemStack(currentItem);
 
         if (itemKey.isPresent()) {
-            List<String> actions = config.getItemActions(itemKey.get());
+            List<MenuAction> actions = config.getItemActions(itemKey.get());
 
             if (actions != null && !actions.isEmpty()) {
+                // Ignore spam clicks so a burst of clicks cannot queue a burst of tasks
+                long now = System.currentTimeMillis();
+                Long lastClick = lastClicks.get(player);
+                if (lastClick != null && now - lastClick < config.getMenuClickCooldown()) {
+                    return;
+                }
+                lastClicks.put(player, now);
+
                 player.closeInventory();
-                
-                // Execute all commands configured for this menu item
-                for (String action : actions) {
-                    if (action.startsWith("rtpqueue ")) {
-                        // Delay execution slightly to ensure inventory is fully closed
-                        new BukkitRunnable() {
-                            @Override
-                            public void run() {
-                                String[] parts = action.split(" ");
-                                // Dispatch the command to the main command handler
-                                Bukkit.dispatchCommand(player, parts[0] + " " + parts[1]);
-                            }
-                        }.runTaskLater(plugin, 1L);
-                    } else {
-                        // Execute other configured console/player commands here if needed
-                        player.sendMessage(ChatUtil.color("&cUnknown menu action: " + action));
+
+                // Run all actions for this item in one task, a tick later so the inventory is fully closed
+                plugin.getTaskScheduler().runForEntityLater(player, () -> {
+                    for (MenuAction action : actions) {
+                        action.execute(plugin, player);
                     }
-                }
+                }, 1L);
             }
         }
     }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getInventory().getHolder(false) instanceof QueueMenuHolder && event.getPlayer() instanceof Player player) {
+            plugin.getMenuTracker().untrack(player, event.getInventory());
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.rtpqueuez.listeners;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.QueueConfig;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Removes players from queues and running matches when they quit (including kicks),
+ * change worlds or die, so no slot is ever held by someone who is gone.
+ */
+public class PlayerPresenceListener implements Listener {
+
+    private final RTPQueueZ plugin;
+    private final QueueConfig config;
+
+    public PlayerPresenceListener(RTPQueueZ plugin, QueueConfig config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getQueueManager().handleDeparture(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        if (config.isLeaveOnWorldChange()) {
+            plugin.getQueueManager().handleDeparture(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        if (config.isLeaveOnDeath()) {
+            plugin.getQueueManager().handleDeparture(event.getEntity());
+        }
+    }
+}
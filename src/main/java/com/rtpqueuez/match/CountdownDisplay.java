@@ -0,0 +1,122 @@
+package com.rtpqueuez.match;
+
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.message.MessageArgs;
+import com.rtpqueuez.message.MessageTemplate;
+import com.rtpqueuez.message.Placeholder;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows match countdowns using the 'teleport' message.
+ * In boss bar mode each match owns one bar that all members view, so a second of the
+ * countdown is a single update of that bar. In action bar mode the line is rendered into
+ * one component per second and that same component is sent to every member.
+ */
+public class CountdownDisplay {
+
+    private final QueueConfig config;
+    private final Map<Match, ActiveCountdown> active = new HashMap<>();
+
+    public CountdownDisplay(QueueConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Prepares the display for a match that is about to count down from the given seconds.
+     */
+    public void start(Match match, int seconds) {
+        CountdownDisplayMode mode = config.getCountdownDisplayMode();
+        BossBar bar = null;
+        if (mode == CountdownDisplayMode.BOSS_BAR) {
+            bar = BossBar.bossBar(Component.empty(), BossBar.MAX_PROGRESS, config.getCountdownBarColor(), BossBar.Overlay.PROGRESS);
+            for (Player member : match.getMembers()) {
+                member.showBossBar(bar);
+            }
+        }
+        active.put(match, new ActiveCountdown(mode, bar, Math.max(1, seconds)));
+    }
+
+    /**
+     * Shows one second of the countdown to the match's online members.
+     */
+    public void update(Match match, int secondsLeft) {
+        ActiveCountdown countdown = active.get(match);
+        CountdownDisplayMode mode = countdown != null ? countdown.mode : CountdownDisplayMode.CHAT;
+        MessageTemplate message = config.getMessage("teleport");
+        MessageArgs args = MessageArgs.world(match.getWorldName()).with(Placeholder.TIME, secondsLeft);
+
+        switch (mode) {
+            case BOSS_BAR -> {
+                // Viewers are attached to the bar, so changing it updates everyone at once
+                float progress = Math.max(BossBar.MIN_PROGRESS, Math.min(BossBar.MAX_PROGRESS, (float) secondsLeft / countdown.seconds));
+                countdown.bar.name(message.renderComponent(0, args));
+                countdown.bar.progress(progress);
+            }
+            case ACTION_BAR -> {
+                Component line = message.renderComponent(0, args);
+                for (Player member : match.getMembers()) {
+                    if (member.isOnline()) member.sendActionBar(line);
+                }
+            }
+            default -> message.send(getOnlineMembers(match), args);
+        }
+    }
+
+    /**
+     * Shows a match's boss bar to a member who joined during the countdown.
+     */
+    public void addViewer(Match match, Player player) {
+        ActiveCountdown countdown = active.get(match);
+        if (countdown != null && countdown.bar != null) {
+            player.showBossBar(countdown.bar);
+        }
+    }
+
+    /**
+     * Hides a match's boss bar from a member who left during the countdown.
+     */
+    public void removeViewer(Match match, Player player) {
+        ActiveCountdown countdown = active.get(match);
+        if (countdown != null && countdown.bar != null) {
+            player.hideBossBar(countdown.bar);
+        }
+    }
+
+    /**
+     * Removes the display of a match whose countdown finished or was cancelled.
+     */
+    public void finish(Match match) {
+        ActiveCountdown countdown = active.remove(match);
+        if (countdown != null && countdown.bar != null) {
+            for (Player member : match.getMembers()) {
+                member.hideBossBar(countdown.bar);
+            }
+        }
+    }
+
+    /**
+     * Removes all displays, used on shutdown.
+     */
+    public void clear() {
+        for (Match match : new ArrayList<>(active.keySet())) {
+            finish(match);
+        }
+    }
+
+    private static List<Player> getOnlineMembers(Match match) {
+        List<Player> online = new ArrayList<>(match.getMembers().size());
+        for (Player member : match.getMembers()) {
+            if (member.isOnline()) online.add(member);
+        }
+        return online;
+    }
+
+    private record ActiveCountdown(CountdownDisplayMode mode, BossBar bar, int seconds) {}
+}
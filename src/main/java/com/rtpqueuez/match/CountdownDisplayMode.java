@@ -0,0 +1,19 @@
+package com.rtpqueuez.match;
+
+/**
+ * Where a match's countdown is shown to its members.
+ */
+public enum CountdownDisplayMode {
+    /** One chat line per member every second. */
+    CHAT,
+    /** One boss bar per match, shared by all members. */
+    BOSS_BAR,
+    /** One action bar payload per second, shared by all members. */
+    ACTION_BAR;
+
+    public static CountdownDisplayMode fromString(String value) {
+        if ("bossbar".equalsIgnoreCase(value) || "boss_bar".equalsIgnoreCase(value)) return BOSS_BAR;
+        if ("actionbar".equalsIgnoreCase(value) || "action_bar".equalsIgnoreCase(value)) return ACTION_BAR;
+        return CHAT;
+    }
+}
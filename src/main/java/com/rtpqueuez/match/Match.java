@@ -0,0 +1,156 @@
+package com.rtpqueuez.match;
+
+import com.rtpqueuez.config.QueueProfile;
+import com.rtpqueuez.exclusion.ExclusionIndex;
+import com.rtpqueuez.teleport.ChunkTicketManager;
+import com.rtpqueuez.teleport.DestinationReservation;
+import com.rtpqueuez.teleport.LocationPoolManager;
+import com.rtpqueuez.teleport.LocationValidator;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A group of players that left a queue together and are counting down to their teleport.
+ * Destinations are reserved as soon as the match forms so their chunks load during the countdown.
+ */
+public class Match {
+
+    private static final int SCATTER_ATTEMPTS = 8;
+
+    private final QueueProfile profile;
+    private final List<Player> members;
+    private final List<UUID> players;
+    private final Map<UUID, DestinationReservation> reservations = new HashMap<>();
+    private DestinationReservation groupReservation;
+    private Location groupCenter;
+    private CompletableFuture<Map<UUID, Location>> groupDestinations;
+
+    /**
+     * @param members The players of the match, resolved once so the countdown never looks them up again.
+     */
+    public Match(QueueProfile profile, List<Player> members) {
+        this.profile = profile;
+        this.members = new ArrayList<>(members);
+        this.players = new ArrayList<>(members.size());
+        for (Player member : members) {
+            players.add(member.getUniqueId());
+        }
+    }
+
+    /**
+     * Picks destinations for the members and starts preloading their chunks.
+     * In {@link PlacementMode#GROUP} a single center is searched and every member is scattered
+     * within {@code scatterRadius} blocks of it, so only the chunks around that center are loaded.
+     */
+    public void reserveDestinations(LocationPoolManager pools, ChunkTicketManager tickets, PlacementMode mode, int scatterRadius) {
+        if (mode == PlacementMode.INDIVIDUAL) {
+            for (UUID uuid : players) {
+                reservations.put(uuid, DestinationReservation.reserve(pools, tickets, profile.locationSettings()));
+            }
+            return;
+        }
+
+        ExclusionIndex excluded = pools.getExclusions().get(profile.worldName());
+        // Copied here on the global thread: the scatter runs wherever the chunk load completes,
+        // while refills and departures keep changing the member list
+        List<UUID> scattered = List.copyOf(players);
+        groupReservation = DestinationReservation.reserve(pools, tickets, profile.locationSettings(), scatterRadius);
+        groupDestinations = groupReservation.getDestination()
+                .thenApply(center -> {
+                    groupCenter = center;
+                    return center != null ? scatter(scattered, center, scatterRadius, excluded) : Collections.emptyMap();
+                });
+    }
+
+    /**
+     * Adds a player who replaces a member that left during the countdown.
+     * In group mode a player added after the destinations were reserved lands on the match center.
+     */
+    public void addMember(Player player, LocationPoolManager pools, ChunkTicketManager tickets) {
+        members.add(player);
+        players.add(player.getUniqueId());
+        if (groupReservation == null) {
+            reservations.put(player.getUniqueId(), DestinationReservation.reserve(pools, tickets, profile.locationSettings()));
+        }
+    }
+
+    /**
+     * Removes a member who left during the countdown and releases their own reservation, if any.
+     * @return Whether the player was a member.
+     */
+    public boolean removeMember(UUID uuid) {
+        if (!players.remove(uuid)) return false;
+        members.removeIf(member -> member.getUniqueId().equals(uuid));
+        DestinationReservation reservation = reservations.remove(uuid);
+        if (reservation != null) {
+            reservation.release();
+        }
+        return true;
+    }
+
+    /**
+     * @return The reserved destination for a member, or a completed null future if none was reserved.
+     */
+    public CompletableFuture<Location> getDestination(UUID uuid) {
+        if (groupDestinations != null) {
+            return groupDestinations.thenApply(destinations -> {
+                Location destination = destinations.get(uuid);
+                return destination != null || groupCenter == null ? destination : groupCenter.clone();
+            });
+        }
+        DestinationReservation reservation = reservations.get(uuid);
+        return reservation != null ? reservation.getDestination() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Releases all chunk tickets held for this match. Used both after the teleport and on cancellation.
+     */
+    public void release() {
+        reservations.values().forEach(DestinationReservation::release);
+        if (groupReservation != null) {
+            groupReservation.release();
+        }
+    }
+
+    /**
+     * Spreads the given members around the center. Every candidate lies inside the preloaded area,
+     * so validation only reads loaded chunks; members fall back to the center itself.
+     * Spots inside an exclusion zone are skipped, since the center may sit close to one.
+     */
+    private Map<UUID, Location> scatter(List<UUID> players, Location center, int radius, ExclusionIndex excluded) {
+        World world = center.getWorld();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<UUID, Location> destinations = new HashMap<>();
+
+        for (UUID uuid : players) {
+            Location destination = null;
+            for (int attempt = 0; attempt < SCATTER_ATTEMPTS && destination == null && radius > 0; attempt++) {
+                double angle = random.nextDouble(Math.PI * 2);
+                double distance = radius * Math.sqrt(random.nextDouble());
+                int x = center.getBlockX() + (int) Math.round(Math.cos(angle) * distance);
+                int z = center.getBlockZ() + (int) Math.round(Math.sin(angle) * distance);
+                if (!excluded.isExcluded(x, z) && world.isChunkLoaded(x >> 4, z >> 4)) {
+                    destination = LocationValidator.findSafeLocation(world.getChunkAt(x >> 4, z >> 4), x, z);
+                }
+            }
+            destinations.put(uuid, destination != null ? destination : center.clone());
+        }
+        return destinations;
+    }
+
+    public QueueProfile getProfile() { return profile; }
+    public String getQueueName() { return profile.name(); }
+    public String getWorldName() { return profile.worldName(); }
+    public List<Player> getMembers() { return Collections.unmodifiableList(members); }
+    public List<UUID> getPlayers() { return Collections.unmodifiableList(players); }
+}
@@ -0,0 +1,15 @@
+package com.rtpqueuez.match;
+
+/**
+ * How destinations are chosen for the members of a match.
+ */
+public enum PlacementMode {
+    /** One safe center per match; members are scattered around it. */
+    GROUP,
+    /** Every member gets their own random destination. */
+    INDIVIDUAL;
+
+    public static PlacementMode fromString(String value) {
+        return "individual".equalsIgnoreCase(value) ? INDIVIDUAL : GROUP;
+    }
+}
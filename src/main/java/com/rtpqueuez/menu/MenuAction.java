@@ -0,0 +1,110 @@
+package com.rtpqueuez.menu;
+
+import com.rtpqueuez.RTPQueueZ;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+
+/**
+ * A menu click action, parsed once from config.yml and run directly against the plugin
+ * instead of going through command dispatch.
+ * <p>
+ * Supported forms: {@code [join] <world>}, {@code [leave]}, {@code [menu]},
+ * {@code [console] <command>}, {@code [player] <command>}. The legacy {@code rtpqueue <world>}
+ * form is read as a join and {@code rtpqueue leave} as a leave; other {@code rtpqueue} subcommands
+ * and any other plain line run as a player command.
+ * {@code {player}} in commands is replaced with the clicker's name.
+ */
+public interface MenuAction {
+
+    void execute(RTPQueueZ plugin, Player player);
+
+    /**
+     * Parses one configured action line.
+     * @return The action, or null if the line is empty or malformed.
+     */
+    static MenuAction parse(String line) {
+        String trimmed = line == null ? "" : line.trim();
+        if (trimmed.isEmpty()) return null;
+
+        if (trimmed.startsWith("[")) {
+            int end = trimmed.indexOf(']');
+            if (end < 0) return null;
+            String tag = trimmed.substring(1, end).trim().toLowerCase(Locale.ROOT);
+            String argument = trimmed.substring(end + 1).trim();
+            return switch (tag) {
+                case "join" -> argument.isEmpty() ? null : new JoinQueue(argument.toLowerCase(Locale.ROOT));
+                case "leave" -> new LeaveQueue();
+                case "menu" -> new OpenMenu();
+                case "console" -> argument.isEmpty() ? null : new ConsoleCommand(stripSlash(argument));
+                case "player" -> argument.isEmpty() ? null : new PlayerCommand(stripSlash(argument));
+                default -> null;
+            };
+        }
+
+        String command = stripSlash(trimmed);
+        String[] parts = command.split("\\s+");
+        String label = parts[0].toLowerCase(Locale.ROOT);
+        if (label.equals("rtpqueue") || label.equals("rq") || label.equals("rtpq")) {
+            if (parts.length == 1) return new OpenMenu();
+            if (parts.length == 2) {
+                String argument = parts[1].toLowerCase(Locale.ROOT);
+                if (argument.equals("leave")) return new LeaveQueue();
+                if (!isSubcommand(argument)) return new JoinQueue(argument);
+            }
+        }
+        return new PlayerCommand(command);
+    }
+
+    /**
+     * @return Whether an argument of {@code /rtpqueue} is one of its subcommands rather than a queue.
+     */
+    private static boolean isSubcommand(String argument) {
+        return switch (argument) {
+            case "stats", "reload", "broadcasts" -> true;
+            default -> false;
+        };
+    }
+
+    private static String stripSlash(String command) {
+        return command.startsWith("/") ? command.substring(1) : command;
+    }
+
+    record JoinQueue(String worldName) implements MenuAction {
+        @Override
+        public void execute(RTPQueueZ plugin, Player player) {
+            plugin.getQueueManager().joinQueue(player, worldName);
+        }
+    }
+
+    record LeaveQueue() implements MenuAction {
+        @Override
+        public void execute(RTPQueueZ plugin, Player player) {
+            plugin.getQueueManager().leaveQueue(player);
+        }
+    }
+
+    record OpenMenu() implements MenuAction {
+        @Override
+        public void execute(RTPQueueZ plugin, Player player) {
+            plugin.getMenuTracker().open(player);
+        }
+    }
+
+    record ConsoleCommand(String command) implements MenuAction {
+        @Override
+        public void execute(RTPQueueZ plugin, Player player) {
+            String line = command.replace("{player}", player.getName());
+            // Console commands belong to the global region on Folia
+            plugin.getTaskScheduler().executeGlobal(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), line));
+        }
+    }
+
+    record PlayerCommand(String command) implements MenuAction {
+        @Override
+        public void execute(RTPQueueZ plugin, Player player) {
+            player.performCommand(command.replace("{player}", player.getName()));
+        }
+    }
+}
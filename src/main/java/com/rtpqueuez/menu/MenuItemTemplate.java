@@ -0,0 +1,148 @@
+package com.rtpqueuez.menu;
+
+import com.rtpqueuez.util.ChatUtil;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A menu item compiled once from config.yml.
+ * The item is pre-built with colored name and lore; only the lines that contain
+ * placeholders are resolved per player, every other line is shared as-is.
+ */
+public final class MenuItemTemplate {
+
+    private static final int[] NO_LINES = new int[0];
+    private static final String COUNT_PLACEHOLDER = "%rtpqueue_count_";
+
+    private final String key;
+    private final int slot;
+    private final ItemStack baseItem;
+    private final String rawName;
+    private final boolean dynamicName;
+    private final List<String> rawLore;
+    private final List<String> coloredLore;
+    private final int[] dynamicLoreLines;
+    private final List<MenuAction> actions;
+    private final Set<String> watchedQueues;
+
+    private MenuItemTemplate(String key, int slot, ItemStack baseItem, String rawName, boolean dynamicName,
+                             List<String> rawLore, List<String> coloredLore, int[] dynamicLoreLines, List<MenuAction> actions,
+                             Set<String> watchedQueues) {
+        this.key = key;
+        this.slot = slot;
+        this.baseItem = baseItem;
+        this.rawName = rawName;
+        this.dynamicName = dynamicName;
+        this.rawLore = rawLore;
+        this.coloredLore = coloredLore;
+        this.dynamicLoreLines = dynamicLoreLines;
+        this.actions = actions;
+        this.watchedQueues = watchedQueues;
+    }
+
+    /**
+     * Builds the template for one configured item.
+     * @param keyTag              The persistent data key the item's config key is stored under.
+     * @param resolvePlaceholders Whether PlaceholderAPI is available; if not, every line is static.
+     */
+    public static MenuItemTemplate compile(String key, String materialName, int slot, String displayName,
+                                           List<String> lore, List<MenuAction> actions, NamespacedKey keyTag,
+                                           boolean resolvePlaceholders) {
+        Material material = materialName != null ? Material.getMaterial(materialName) : null;
+        String name = displayName != null ? displayName : "&fDefault Name";
+
+        List<String> coloredLore = new ArrayList<>(lore.size());
+        List<Integer> dynamicLines = new ArrayList<>();
+        Set<String> watchedQueues = new HashSet<>();
+        for (int i = 0; i < lore.size(); i++) {
+            String line = lore.get(i);
+            coloredLore.add(ChatUtil.color(line));
+            if (resolvePlaceholders && hasPlaceholder(line)) {
+                dynamicLines.add(i);
+                collectQueueCounts(line, watchedQueues);
+            }
+        }
+        if (resolvePlaceholders) {
+            collectQueueCounts(name, watchedQueues);
+        }
+
+        ItemStack item = new ItemStack(material != null ? material : Material.STONE);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(ChatUtil.color(name));
+        meta.setLore(coloredLore);
+        // Clicks are resolved through this tag, so names are free to contain placeholders
+        meta.getPersistentDataContainer().set(keyTag, PersistentDataType.STRING, key);
+        item.setItemMeta(meta);
+
+        return new MenuItemTemplate(key, slot, item, name, resolvePlaceholders && hasPlaceholder(name),
+                List.copyOf(lore), Collections.unmodifiableList(coloredLore),
+                dynamicLines.isEmpty() ? NO_LINES : dynamicLines.stream().mapToInt(Integer::intValue).toArray(),
+                List.copyOf(actions), Set.copyOf(watchedQueues));
+    }
+
+    /**
+     * Creates the item for a player. Static items are a plain clone of the pre-built item;
+     * otherwise only the placeholder lines are resolved.
+     */
+    public ItemStack render(Player player) {
+        ItemStack item = baseItem.clone();
+        if (!isDynamic()) return item;
+
+        ItemMeta meta = item.getItemMeta();
+        if (dynamicName) {
+            meta.setDisplayName(resolve(player, rawName));
+        }
+        if (dynamicLoreLines.length > 0) {
+            List<String> lore = new ArrayList<>(coloredLore);
+            for (int line : dynamicLoreLines) {
+                lore.set(line, resolve(player, rawLore.get(line)));
+            }
+            meta.setLore(lore);
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    public boolean isDynamic() {
+        return dynamicName || dynamicLoreLines.length > 0;
+    }
+
+    private static String resolve(Player player, String line) {
+        return ChatUtil.color(PlaceholderAPI.setPlaceholders(player, line));
+    }
+
+    /**
+     * Finds every %rtpqueue_count_&lt;queue&gt;% in a line, so open menus know which queue changes affect this item.
+     */
+    private static void collectQueueCounts(String line, Set<String> queues) {
+        int start = line.indexOf(COUNT_PLACEHOLDER);
+        while (start >= 0) {
+            int nameStart = start + COUNT_PLACEHOLDER.length();
+            int end = line.indexOf('%', nameStart);
+            if (end < 0) return;
+            queues.add(line.substring(nameStart, end).toLowerCase());
+            start = line.indexOf(COUNT_PLACEHOLDER, end + 1);
+        }
+    }
+
+    private static boolean hasPlaceholder(String line) {
+        int start = line.indexOf('%');
+        return start >= 0 && line.indexOf('%', start + 1) > start + 1;
+    }
+
+    public String getKey() { return key; }
+    public int getSlot() { return slot; }
+    public List<MenuAction> getActions() { return actions; }
+    public Set<String> getWatchedQueues() { return watchedQueues; }
+}
@@ -0,0 +1,131 @@
+package com.rtpqueuez.menu;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.util.ChatUtil;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps open queue menus up to date.
+ * When a queue's size changes, only the items showing that queue's count are marked dirty;
+ * all dirty items are re-rendered together on the next tick, so a viewer gets at most one
+ * update per tick no matter how many joins and leaves happened in between.
+ * On Folia each viewer's inventory is updated on the region that owns the viewer.
+ */
+public class MenuTracker {
+
+    private final RTPQueueZ plugin;
+    private final QueueConfig config;
+    private final Map<UUID, OpenMenu> openMenus = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    public MenuTracker(RTPQueueZ plugin, QueueConfig config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+
+    /**
+     * Opens the queue menu for a player and starts tracking it.
+     */
+    public void open(Player player) {
+        // Built from the cached templates; only placeholder lines are resolved on the fly
+        Optional<Inventory> menu = config.createQueueMenu(player);
+
+        menu.ifPresentOrElse(inventory -> {
+            player.openInventory(inventory);
+            track(player, inventory);
+        }, () -> {
+            player.sendMessage(ChatUtil.color("&cError: Could not load queue menu from config!"));
+        });
+    }
+
+    /**
+     * Starts tracking a menu the player has just opened.
+     */
+    public void track(Player player, Inventory inventory) {
+        openMenus.put(player.getUniqueId(), new OpenMenu(player, inventory));
+    }
+
+    /**
+     * Stops tracking the player's menu if it is the given inventory.
+     */
+    public void untrack(Player player, Inventory inventory) {
+        OpenMenu menu = openMenus.get(player.getUniqueId());
+        if (menu != null && menu.inventory == inventory) {
+            openMenus.remove(player.getUniqueId(), menu);
+        }
+    }
+
+    /**
+     * Marks every open menu item that shows this queue's count as dirty.
+     */
+    public void onQueueCountChanged(String queueKey) {
+        if (stopped || openMenus.isEmpty()) return;
+        List<MenuItemTemplate> affected = config.getQueueMenu().getItemsWatching(queueKey);
+        if (affected.isEmpty()) return;
+
+        for (OpenMenu menu : openMenus.values()) {
+            menu.dirty.addAll(affected);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            plugin.getTaskScheduler().runGlobal(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        for (OpenMenu menu : openMenus.values()) {
+            if (menu.dirty.isEmpty()) continue;
+            plugin.getTaskScheduler().executeForEntity(menu.viewer, () -> redraw(menu));
+        }
+    }
+
+    private void redraw(OpenMenu menu) {
+        if (!menu.viewer.isOnline() || menu.viewer.getOpenInventory().getTopInventory() != menu.inventory) {
+            openMenus.remove(menu.viewer.getUniqueId(), menu);
+            return;
+        }
+        for (MenuItemTemplate item : menu.dirty) {
+            // Removed before rendering, so a change marked meanwhile is redrawn by the next flush
+            menu.dirty.remove(item);
+            menu.inventory.setItem(item.getSlot(), item.render(menu.viewer));
+        }
+    }
+
+    /**
+     * Stops tracking every menu and ignores queue changes from then on, used on shutdown.
+     * Bukkit refuses to schedule tasks for a plugin that is being disabled.
+     */
+    public void stop() {
+        stopped = true;
+        openMenus.clear();
+    }
+
+    /**
+     * @return The number of queue menus currently open and refreshed on queue changes.
+     */
+    public int getOpenMenuCount() {
+        return openMenus.size();
+    }
+
+    private static final class OpenMenu {
+        private final Player viewer;
+        private final Inventory inventory;
+        private final Set<MenuItemTemplate> dirty = ConcurrentHashMap.newKeySet();
+
+        private OpenMenu(Player viewer, Inventory inventory) {
+            this.viewer = viewer;
+            this.inventory = inventory;
+        }
+    }
+}
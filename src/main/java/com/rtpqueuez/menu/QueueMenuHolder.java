@@ -0,0 +1,23 @@
+package com.rtpqueuez.menu;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Marks an inventory as an RTP queue menu, so listeners can recognise it with one identity check
+ * instead of comparing titles.
+ */
+public class QueueMenuHolder implements InventoryHolder {
+
+    private Inventory inventory;
+
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+}
@@ -0,0 +1,68 @@
+package com.rtpqueuez.menu;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The queue menu compiled once at load time: title, size and the item templates.
+ */
+public final class QueueMenuTemplate {
+
+    private final String title;
+    private final int size;
+    private final Map<String, MenuItemTemplate> items;
+    private final List<MenuItemTemplate> itemList;
+    private final Map<String, List<MenuItemTemplate>> itemsByQueue;
+
+    public QueueMenuTemplate(String title, int size, Map<String, MenuItemTemplate> items) {
+        this.title = title;
+        this.size = size;
+        this.items = Map.copyOf(items);
+        this.itemList = List.copyOf(items.values());
+
+        Map<String, List<MenuItemTemplate>> byQueue = new HashMap<>();
+        for (MenuItemTemplate item : itemList) {
+            for (String queue : item.getWatchedQueues()) {
+                byQueue.computeIfAbsent(queue, k -> new ArrayList<>()).add(item);
+            }
+        }
+        this.itemsByQueue = Map.copyOf(byQueue);
+    }
+
+    /**
+     * Creates the inventory for a player from the cached templates.
+     */
+    public Inventory render(Player player) {
+        QueueMenuHolder holder = new QueueMenuHolder();
+        Inventory menu = Bukkit.createInventory(holder, size, title);
+        holder.setInventory(menu);
+        for (MenuItemTemplate item : itemList) {
+            menu.setItem(item.getSlot(), item.render(player));
+        }
+        return menu;
+    }
+
+    public MenuItemTemplate getItem(String key) {
+        return items.get(key);
+    }
+
+    public List<MenuItemTemplate> getItems() {
+        return itemList;
+    }
+
+    /**
+     * @return The items that display the count of the given queue.
+     */
+    public List<MenuItemTemplate> getItemsWatching(String queueKey) {
+        return itemsByQueue.getOrDefault(queueKey, List.of());
+    }
+
+    public String getTitle() { return title; }
+    public int getSize() { return size; }
+}
@@ -0,0 +1,158 @@
+package com.rtpqueuez.message;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces match announcements into one broadcast per window.
+ * A window with a single match sends the detailed 'queue-joined-broadcast' message; a window
+ * with several sends one 'queue-broadcast-summary' line listing the matches per world.
+ * A world is announced at most once per world cooldown; matches formed in the meantime are
+ * kept and included in its next announcement. All methods run on the global region (the main thread on Paper).
+ */
+public class BroadcastAggregator {
+
+    private static final String SUMMARY_SEPARATOR = ChatColor.GRAY + ", ";
+
+    private final RTPQueueZ plugin;
+    private final QueueConfig config;
+    private final NamespacedKey mutedKey;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final Map<String, Long> lastAnnounced = new HashMap<>();
+    private TaskHandle flushTask;
+
+    public BroadcastAggregator(RTPQueueZ plugin, QueueConfig config) {
+        this.plugin = plugin;
+        this.config = config;
+        this.mutedKey = new NamespacedKey(plugin, "broadcasts-muted");
+    }
+
+    /**
+     * Records a match that started in a world, to be announced when the current window ends.
+     */
+    public void recordMatch(String worldName, String playerName) {
+        if (!config.isBroadcastEnabled()) return;
+        pending.computeIfAbsent(worldName.toLowerCase(), key -> new Pending(worldName, playerName)).matches++;
+        if (flushTask == null) {
+            flushTask = plugin.getTaskScheduler().runGlobalLater(this::flush, Math.max(1L, config.getBroadcastWindowTicks()));
+        }
+    }
+
+    private void flush() {
+        flushTask = null;
+        long now = System.currentTimeMillis();
+        long worldCooldown = config.getBroadcastWorldCooldown();
+
+        List<Pending> ready = new ArrayList<>();
+        long nextReady = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<String, Pending>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Pending> entry = it.next();
+            long readyAt = lastAnnounced.getOrDefault(entry.getKey(), Long.MIN_VALUE / 2) + worldCooldown;
+            if (now >= readyAt) {
+                ready.add(entry.getValue());
+                lastAnnounced.put(entry.getKey(), now);
+                it.remove();
+            } else {
+                nextReady = Math.min(nextReady, readyAt);
+            }
+        }
+
+        // Worlds still in their cooldown are announced as soon as it ends
+        if (!pending.isEmpty()) {
+            long delayTicks = Math.max(1L, (nextReady - now + 49) / 50);
+            flushTask = plugin.getTaskScheduler().runGlobalLater(this::flush, delayTicks);
+        }
+        if (ready.isEmpty()) return;
+
+        List<Player> receivers = getReceivers();
+        if (ready.size() == 1 && ready.get(0).matches == 1) {
+            Pending match = ready.get(0);
+            MessageTemplate message = config.getMessage("queue-joined-broadcast");
+            MessageArgs args = MessageArgs.world(match.worldName).player(match.firstPlayer);
+            message.send(receivers, args);
+            message.send(Bukkit.getConsoleSender(), args);
+            return;
+        }
+
+        MessageTemplate entry = config.getMessage("queue-broadcast-summary-entry");
+        StringBuilder summary = new StringBuilder();
+        int total = 0;
+        for (Pending world : ready) {
+            if (summary.length() > 0) summary.append(SUMMARY_SEPARATOR);
+            summary.append(entry.renderLine(0, MessageArgs.world(world.worldName).count(world.matches)));
+            total += world.matches;
+        }
+        MessageTemplate message = config.getMessage("queue-broadcast-summary");
+        MessageArgs args = MessageArgs.of(Placeholder.SUMMARY, summary).count(total);
+        message.send(receivers, args);
+        message.send(Bukkit.getConsoleSender(), args);
+    }
+
+    private List<Player> getReceivers() {
+        String permission = config.getBroadcastPermission();
+        List<Player> receivers = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (!permission.isEmpty() && !player.hasPermission(permission)) continue;
+            if (isMuted(player)) continue;
+            receivers.add(player);
+        }
+        return receivers;
+    }
+
+    /**
+     * Whether the player has turned queue broadcasts off. The toggle is stored on the player,
+     * so it survives relogs and restarts.
+     */
+    public boolean isMuted(Player player) {
+        return player.getPersistentDataContainer().has(mutedKey);
+    }
+
+    /**
+     * Flips the player's broadcast toggle and returns true if broadcasts are now muted.
+     */
+    public boolean toggleMuted(Player player) {
+        PersistentDataContainer data = player.getPersistentDataContainer();
+        if (data.has(mutedKey)) {
+            data.remove(mutedKey);
+            return false;
+        }
+        data.set(mutedKey, PersistentDataType.BYTE, (byte) 1);
+        return true;
+    }
+
+    /**
+     * Drops pending announcements, used on shutdown.
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        pending.clear();
+    }
+
+    private static final class Pending {
+        private final String worldName;
+        private final String firstPlayer;
+        private int matches;
+
+        private Pending(String worldName, String firstPlayer) {
+            this.worldName = worldName;
+            this.firstPlayer = firstPlayer;
+        }
+    }
+}
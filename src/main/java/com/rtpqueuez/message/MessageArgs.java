@@ -0,0 +1,38 @@
+package com.rtpqueuez.message;
+
+/**
+ * Values for the slots of a message, indexed by {@link Placeholder}.
+ * Unset slots render as an empty string.
+ */
+public final class MessageArgs {
+
+    public static final MessageArgs NONE = new MessageArgs();
+
+    private final String[] values = new String[Placeholder.count()];
+
+    public static MessageArgs world(String world) {
+        return new MessageArgs().with(Placeholder.WORLD, world);
+    }
+
+    public static MessageArgs of(Placeholder placeholder, Object value) {
+        return new MessageArgs().with(placeholder, value);
+    }
+
+    public MessageArgs with(Placeholder placeholder, Object value) {
+        values[placeholder.ordinal()] = String.valueOf(value);
+        return this;
+    }
+
+    public MessageArgs count(int count) {
+        return with(Placeholder.COUNT, count);
+    }
+
+    public MessageArgs player(String player) {
+        return with(Placeholder.PLAYER, player);
+    }
+
+    String get(Placeholder placeholder) {
+        String value = values[placeholder.ordinal()];
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,93 @@
+package com.rtpqueuez.message;
+
+import com.rtpqueuez.util.ChatUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of a message, split at load time into pre-colored literal segments and slots.
+ * A line without slots is built into an immutable component once and reused for every send.
+ */
+final class MessageLine {
+
+    private final String[] literals;
+    private final Placeholder[] slots;
+    private final int literalLength;
+    private final Component staticComponent;
+
+    private MessageLine(String[] literals, Placeholder[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.staticComponent = slots.length == 0
+                ? LegacyComponentSerializer.legacySection().deserialize(literals[0])
+                : null;
+    }
+
+    /**
+     * Splits a raw line at every known {slot}. Unknown braces are kept as text.
+     * Colors are translated here, once, so rendering never re-colors.
+     */
+    static MessageLine compile(String raw) {
+        String colored = ChatUtil.color(raw);
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> slots = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < colored.length()) {
+            char c = colored.charAt(index);
+            if (c == '{') {
+                int end = colored.indexOf('}', index + 1);
+                Placeholder slot = end > 0 ? Placeholder.byName(colored.subSequence(index + 1, end)) : null;
+                if (slot != null) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(slot);
+                    index = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            index++;
+        }
+        literals.add(literal.toString());
+        return new MessageLine(literals.toArray(new String[0]), slots.toArray(new Placeholder[0]));
+    }
+
+    boolean isStatic() {
+        return staticComponent != null;
+    }
+
+    Component getStaticComponent() {
+        return staticComponent;
+    }
+
+    /**
+     * Renders the line as a component, reusing the cached one for static lines.
+     */
+    Component renderComponent(MessageArgs args) {
+        if (staticComponent != null) return staticComponent;
+        return LegacyComponentSerializer.legacySection().deserialize(render(args));
+    }
+
+    /**
+     * Renders the line in a single pass over its segments.
+     */
+    String render(MessageArgs args) {
+        if (slots.length == 0) return literals[0];
+        StringBuilder builder = new StringBuilder(literalLength + slots.length * 16);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(args.get(slots[i])).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.rtpqueuez.message;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A message from messages.yml compiled at load time. Static lines are sent as cached
+ * components; lines with slots are rendered once per send in a single pass.
+ */
+public final class MessageTemplate {
+
+    public static final MessageTemplate EMPTY = new MessageTemplate(List.of());
+
+    private final List<MessageLine> lines;
+
+    private MessageTemplate(List<MessageLine> lines) {
+        this.lines = lines;
+    }
+
+    public static MessageTemplate compile(List<String> rawLines) {
+        List<MessageLine> lines = new ArrayList<>(rawLines.size());
+        for (String raw : rawLines) {
+            lines.add(MessageLine.compile(raw));
+        }
+        return new MessageTemplate(List.copyOf(lines));
+    }
+
+    public void send(CommandSender receiver) {
+        send(receiver, MessageArgs.NONE);
+    }
+
+    public void send(CommandSender receiver, MessageArgs args) {
+        for (MessageLine line : lines) {
+            if (line.isStatic()) {
+                receiver.sendMessage(line.getStaticComponent());
+            } else {
+                receiver.sendMessage(line.render(args));
+            }
+        }
+    }
+
+    /**
+     * Sends the message to several players, rendering each line only once.
+     */
+    public void send(Collection<? extends Player> receivers, MessageArgs args) {
+        for (MessageLine line : lines) {
+            if (line.isStatic()) {
+                for (Player receiver : receivers) {
+                    receiver.sendMessage(line.getStaticComponent());
+                }
+            } else {
+                String rendered = line.render(args);
+                for (Player receiver : receivers) {
+                    receiver.sendMessage(rendered);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders a single line, e.g. for titles or action bars.
+     */
+    public String renderLine(int index, MessageArgs args) {
+        return index < lines.size() ? lines.get(index).render(args) : "";
+    }
+
+    /**
+     * Renders a single line as a component, e.g. for boss bars.
+     */
+    public Component renderComponent(int index, MessageArgs args) {
+        return index < lines.size() ? lines.get(index).renderComponent(args) : Component.empty();
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+}
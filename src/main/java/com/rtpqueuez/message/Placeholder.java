@@ -0,0 +1,41 @@
+package com.rtpqueuez.message;
+
+/**
+ * The named slots a message line can contain, written as {name} in messages.yml.
+ */
+public enum Placeholder {
+    WORLD("world"),
+    COUNT("count"),
+    TIME("time"),
+    PLAYER("player"),
+    COOLDOWN("cooldown"),
+    SUMMARY("summary");
+
+    private static final Placeholder[] VALUES = values();
+
+    private final String name;
+
+    Placeholder(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Looks up a slot by the text between the braces, or null if it is not a known slot.
+     */
+    static Placeholder byName(CharSequence text) {
+        for (Placeholder placeholder : VALUES) {
+            if (placeholder.name.contentEquals(text)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,82 @@
+package com.rtpqueuez.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-bucket histogram that can be recorded into from any thread without locking.
+ * Recording is a binary search over the bucket bounds and two atomic adds, so it is cheap
+ * enough for the main thread's hot paths. Percentiles are estimated as the upper bound of
+ * the bucket they fall in.
+ */
+public final class Histogram {
+
+    private final long[] bounds;
+    // One count per bound plus the overflow bucket
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * @param bounds Inclusive upper bounds of the buckets, ascending.
+     */
+    public Histogram(long[] bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * @return {@code count} bounds starting at {@code first}, each {@code factor} times the previous one.
+     */
+    public static long[] exponentialBounds(long first, double factor, int count) {
+        long[] bounds = new long[count];
+        double bound = first;
+        for (int i = 0; i < count; i++) {
+            bounds[i] = Math.round(bound);
+            bound *= factor;
+        }
+        return bounds;
+    }
+
+    public void record(long value) {
+        int bucket = Arrays.binarySearch(bounds, value);
+        counts.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+        sum.add(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(bounds, copy, count, sum.sum());
+    }
+
+    /**
+     * The state of a histogram at one point in time. Buckets are not cumulative.
+     */
+    public record Snapshot(long[] bounds, long[] counts, long count, long sum) {
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return The upper bound of the bucket holding the percentile, the largest bound for
+         * values past the last bucket, or 0 if nothing was recorded.
+         */
+        public long percentile(double percentile) {
+            if (count == 0) return 0L;
+            long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return bounds[i];
+            }
+            return bounds[bounds.length - 1];
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rtpqueuez.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One metric per value of a label, e.g. a wait-time histogram per queue. Children are created on first use.
+ */
+public final class Labeled<T> {
+
+    private final String label;
+    private final Supplier<T> factory;
+    private final Map<String, T> children = new ConcurrentHashMap<>();
+
+    public Labeled(String label, Supplier<T> factory) {
+        this.label = label;
+        this.factory = factory;
+    }
+
+    public T get(String value) {
+        T child = children.get(value);
+        return child != null ? child : children.computeIfAbsent(value, key -> factory.get());
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return The children sorted by label value, for stable output.
+     */
+    public Map<String, T> children() {
+        return new TreeMap<>(children);
+    }
+}
@@ -0,0 +1,119 @@
+package com.rtpqueuez.metrics;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.MetricsSettings;
+import com.rtpqueuez.scheduler.TaskHandle;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes {@link PluginMetrics} in the Prometheus text format: rewritten to a file on an async
+ * timer (for node_exporter's textfile collector) and/or served on a local HTTP endpoint.
+ * Both are off by default; metrics are recorded either way and shown by '/rtpqueue stats'.
+ */
+public class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final RTPQueueZ plugin;
+    private final PluginMetrics metrics;
+    private MetricsSettings settings;
+    private TaskHandle fileTask;
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+
+    public MetricsExporter(RTPQueueZ plugin, PluginMetrics metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    public void start(MetricsSettings settings) {
+        this.settings = settings;
+        if (settings.fileEnabled()) {
+            Path file = plugin.getDataFolder().toPath().resolve(settings.filePath());
+            long period = Math.max(1, settings.fileIntervalSeconds()) * 20L;
+            fileTask = plugin.getTaskScheduler().runAsyncTimer(() -> writeFile(file), period, period);
+        }
+        if (settings.httpEnabled()) {
+            try {
+                httpServer = HttpServer.create(new InetSocketAddress(settings.httpBind(), settings.httpPort()), 0);
+                httpServer.createContext("/metrics", this::serve);
+                httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "RTPQueueZ-metrics");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                httpServer.setExecutor(httpExecutor);
+                httpServer.start();
+                plugin.getLogger().info("Serving metrics on http://" + settings.httpBind() + ":" + settings.httpPort() + "/metrics");
+            } catch (IOException e) {
+                httpServer = null;
+                plugin.getLogger().warning("Failed to start the metrics endpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Restarts the exporters after a config reload, only if their settings changed.
+     */
+    public void reload(MetricsSettings settings) {
+        if (settings.equals(this.settings)) return;
+        stop();
+        start(settings);
+    }
+
+    public void stop() {
+        if (fileTask != null) {
+            fileTask.cancel();
+            fileTask = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        // The server does not shut down an executor it was given; a leftover thread would pin the old classloader
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+    }
+
+    /**
+     * Writes to a temporary file first so scrapers never read a half-written file.
+     */
+    private void writeFile(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, metrics.toPrometheus(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.toPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
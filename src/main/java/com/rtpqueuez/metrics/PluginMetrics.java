@@ -0,0 +1,153 @@
+package com.rtpqueuez.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every metric the plugin records. Durations are recorded in nanoseconds and exported in seconds.
+ * Recording is lock-free and safe from any thread; {@link #toPrometheus()} renders the
+ * Prometheus text format for the file and HTTP exporters.
+ */
+public class PluginMetrics {
+
+    /** Main-thread sections timed by {@link #mainThread}. */
+    public static final String SECTION_MENU_CLICK = "menu_click";
+    public static final String SECTION_QUEUE_TICK = "queue_tick";
+    public static final String SECTION_PERFORM_RTP = "perform_rtp";
+
+    private static final double NANOS_TO_SECONDS = 1e-9;
+    // 1 us to ~1 s
+    private static final long[] SECTION_BOUNDS = Histogram.exponentialBounds(TimeUnit.MICROSECONDS.toNanos(1), 2, 21);
+    // 100 ms to ~27 min
+    private static final long[] WAIT_BOUNDS = Histogram.exponentialBounds(TimeUnit.MILLISECONDS.toNanos(100), 2, 15);
+    // 10 ms to ~41 s
+    private static final long[] ARRIVAL_BOUNDS = Histogram.exponentialBounds(TimeUnit.MILLISECONDS.toNanos(10), 2, 13);
+    private static final long[] COUNT_BOUNDS = {1, 2, 3, 4, 6, 8, 12, 16, 24, 32, 48, 64, 128};
+
+    private final Labeled<Histogram> queueWait = new Labeled<>("queue", () -> new Histogram(WAIT_BOUNDS));
+    private final Histogram arrivalLatency = new Histogram(ARRIVAL_BOUNDS);
+    private final Histogram searchAttempts = new Histogram(COUNT_BOUNDS);
+    private final Histogram searchChunkLoads = new Histogram(COUNT_BOUNDS);
+    private final Histogram reservationChunkLoads = new Histogram(COUNT_BOUNDS);
+    private final Labeled<Histogram> mainThread = new Labeled<>("section", () -> new Histogram(SECTION_BOUNDS));
+    private final Counter teleports = new Counter();
+    private final Counter teleportFailures = new Counter();
+    private final Counter matches = new Counter();
+
+    /**
+     * Records how long a player waited in a queue, from joining to being placed in a match.
+     */
+    public void recordQueueWait(String queueKey, long waitMillis) {
+        queueWait.get(queueKey).record(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+    }
+
+    /**
+     * Records the time from a match's countdown reaching zero to a member's arrival.
+     */
+    public void recordArrival(long countdownEndNanos) {
+        arrivalLatency.record(System.nanoTime() - countdownEndNanos);
+    }
+
+    /**
+     * Records one finished destination search: the candidates tried and the chunks loaded for them.
+     */
+    public void recordSearch(int attempts, int chunkLoads) {
+        searchAttempts.record(attempts);
+        searchChunkLoads.record(chunkLoads);
+    }
+
+    /**
+     * Records the chunks loaded to hold a reserved destination and the area around it.
+     */
+    public void recordReservation(int chunkLoads) {
+        reservationChunkLoads.record(chunkLoads);
+    }
+
+    /**
+     * Records the time spent in a main-thread section that started at {@code startNanos}.
+     */
+    public void recordSection(String section, long startNanos) {
+        mainThread.get(section).record(System.nanoTime() - startNanos);
+    }
+
+    public void recordTeleport(boolean success) {
+        (success ? teleports : teleportFailures).increment();
+    }
+
+    public void recordMatch() {
+        matches.increment();
+    }
+
+    public Map<String, Histogram> getQueueWaits() { return queueWait.children(); }
+    public Histogram getArrivalLatency() { return arrivalLatency; }
+    public Histogram getSearchAttempts() { return searchAttempts; }
+    public Histogram getSearchChunkLoads() { return searchChunkLoads; }
+    public Histogram getReservationChunkLoads() { return reservationChunkLoads; }
+    public Map<String, Histogram> getSections() { return mainThread.children(); }
+    public long getTeleports() { return teleports.get(); }
+    public long getTeleportFailures() { return teleportFailures.get(); }
+    public long getMatches() { return matches.get(); }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format.
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        histograms(out, "rtpqueue_queue_wait_seconds", "Time from joining a queue to being placed in a match.", NANOS_TO_SECONDS, queueWait);
+        histogram(out, "rtpqueue_countdown_to_arrival_seconds", "Time from the end of a match countdown to a member's arrival.", NANOS_TO_SECONDS, arrivalLatency);
+        histogram(out, "rtpqueue_search_attempts", "Candidates tried per destination search.", 1, searchAttempts);
+        histogram(out, "rtpqueue_search_chunk_loads", "Chunks loaded per destination search.", 1, searchChunkLoads);
+        histogram(out, "rtpqueue_reservation_chunk_loads", "Chunks loaded per reserved destination area.", 1, reservationChunkLoads);
+        histograms(out, "rtpqueue_main_thread_seconds", "Time spent on the server thread per call, by section.", NANOS_TO_SECONDS, mainThread);
+        counter(out, "rtpqueue_teleports_total", "Players teleported.", teleports);
+        counter(out, "rtpqueue_teleport_failures_total", "Teleports that failed after every retry.", teleportFailures);
+        counter(out, "rtpqueue_matches_total", "Matches formed.", matches);
+        return out.toString();
+    }
+
+    private static void histograms(StringBuilder out, String name, String help, double scale, Labeled<Histogram> family) {
+        header(out, name, help, "histogram");
+        family.children().forEach((value, histogram) ->
+                samples(out, name, family.getLabel() + "=\"" + escape(value) + "\"", scale, histogram.snapshot()));
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, double scale, Histogram histogram) {
+        header(out, name, help, "histogram");
+        samples(out, name, null, scale, histogram.snapshot());
+    }
+
+    private static void samples(StringBuilder out, String name, String labels, double scale, Histogram.Snapshot snapshot) {
+        String prefix = labels != null ? labels + "," : "";
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.bounds().length; i++) {
+            cumulative += snapshot.counts()[i];
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(number(snapshot.bounds()[i] * scale))
+                    .append("\"} ").append(cumulative).append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(snapshot.count()).append('\n');
+        String suffix = labels != null ? "{" + labels + "} " : " ";
+        out.append(name).append("_sum").append(suffix).append(number(snapshot.sum() * scale)).append('\n');
+        out.append(name).append("_count").append(suffix).append(snapshot.count()).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, Counter counter) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(counter.get()).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value)
+                : String.format(Locale.ROOT, "%.9g", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
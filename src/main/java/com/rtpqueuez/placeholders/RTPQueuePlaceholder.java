@@ -48,10 +48,10 @@ public class RTPQueuePlaceholder extends PlaceholderExpansion {
             return "Not in Queue";
         }
 
-        // %rtpqueue_count_<world>% - how many players are in queue
+        // %rtpqueue_count_<queue>% - how many players are in queue (queue profile or world name)
         if (identifier.startsWith("count_")) {
-            String worldName = identifier.substring(6).toLowerCase();
-            return String.valueOf(queueManager.getQueueCount(worldName));
+            String queueName = identifier.substring(6).toLowerCase();
+            return String.valueOf(queueManager.getQueueCount(queueName));
         }
 
         return null;
@@ -1,209 +1,410 @@
-package com.rtpqueuez.config;
+package com.rtpqueuez.queue;
 
 import com.rtpqueuez.RTPQueueZ;
-import com.rtpqueuez.util.ChatUtil;
-import me.clip.placeholderapi.PlaceholderAPI;
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.config.QueueProfile;
+import com.rtpqueuez.core.Clock;
+import com.rtpqueuez.core.CooldownJournal;
+import com.rtpqueuez.core.CooldownStore;
+import com.rtpqueuez.core.Departure;
+import com.rtpqueuez.core.JoinResult;
+import com.rtpqueuez.core.MatchGroup;
+import com.rtpqueuez.core.QueueCore;
+import com.rtpqueuez.core.QueueEvents;
+import com.rtpqueuez.match.CountdownDisplay;
+import com.rtpqueuez.match.Match;
+import com.rtpqueuez.message.BroadcastAggregator;
+import com.rtpqueuez.message.MessageArgs;
+import com.rtpqueuez.message.Placeholder;
+import com.rtpqueuez.metrics.PluginMetrics;
+import com.rtpqueuez.scheduler.TaskHandle;
+import com.rtpqueuez.scheduler.TaskScheduler;
+import com.rtpqueuez.teleport.ChunkTicketManager;
+import com.rtpqueuez.teleport.LocationPoolManager;
+import com.rtpqueuez.teleport.TeleportService;
 import org.bukkit.Bukkit;
-import org.bukkit.Material;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.Location;
+import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
-public class QueueConfig {
+/**
+ * Connects the platform-independent {@link QueueCore} to the server: resolves players and worlds,
+ * drives the core once per tick and turns its events into messages, countdown displays,
+ * destination reservations and teleports.
+ * Queue and match state is confined to the global region (the main thread on Paper); the public
+ * entry points hop there when called from another thread, and per-player effects are sent to the
+ * region owning the player.
+ */
+public class QueueManager implements QueueEvents<QueueProfile> {
+
+    // How often queued players' priority tiers are checked again, so permission changes apply while they wait
+    private static final long PRIORITY_RECHECK_TICKS = 100L;
 
     private final RTPQueueZ plugin;
-    private FileConfiguration messagesConfig;
-    private File messagesFile;
-
-    private int teleportDelay;
-    private int cooldown;
-    private int maxPlayersPerQueue;
-    private String menuTitle;
-    private int menuSize;
-    private final Map<String, Map<String, Object>> menuItems = new HashMap<>();
-    private final Map<String, List<String>> messages = new HashMap<>();
-    private final Map<String, String> titles = new HashMap<>();
-
-    public QueueConfig(RTPQueueZ plugin) {
+    private final QueueConfig config;
+    private final TaskScheduler scheduler;
+    private final LocationPoolManager locationPools;
+    private final ChunkTicketManager chunkTickets;
+    private final TeleportService teleportService;
+    private final BroadcastAggregator broadcasts;
+    private final PluginMetrics metrics;
+    private final CooldownStore playerCooldowns;
+    private final QueueCore<QueueProfile> core;
+    // The server side of each match still counting down
+    private final Map<MatchGroup<QueueProfile>, Match> matches = new HashMap<>();
+    // Matches holding chunk tickets, until their members have arrived or the match is cancelled
+    private final Set<Match> activeMatches = new HashSet<>();
+    private final List<Consumer<String>> countListeners = new CopyOnWriteArrayList<>();
+    private final CountdownDisplay countdownDisplay;
+    private TaskHandle tickTask;
+    private TaskHandle priorityTask;
+
+    public QueueManager(RTPQueueZ plugin, QueueConfig config, LocationPoolManager locationPools,
+                        ChunkTicketManager chunkTickets, TeleportService teleportService, BroadcastAggregator broadcasts) {
         this.plugin = plugin;
+        this.config = config;
+        this.scheduler = plugin.getTaskScheduler();
+        this.locationPools = locationPools;
+        this.chunkTickets = chunkTickets;
+        this.teleportService = teleportService;
+        this.broadcasts = broadcasts;
+        this.metrics = plugin.getMetrics();
+        this.countdownDisplay = new CountdownDisplay(config);
+        this.playerCooldowns = new CooldownStore(new CooldownJournal(new File(plugin.getDataFolder(), "cooldowns.dat").toPath()));
+        this.core = new QueueCore<>(config::getProfile, QueueManager::isOnline, Clock.SYSTEM, playerCooldowns, this);
     }
 
-    public void loadConfigs() {
-        // Load config.yml settings
-        FileConfiguration config = plugin.getConfig();
-        teleportDelay = config.getInt("teleport-delay", 5);
-        cooldown = config.getInt("cooldown", 30);
-        maxPlayersPerQueue = config.getInt("max-players-per-queue", 2);
-
-        menuTitle = ChatUtil.color(config.getString("menu.title", "&b&lRTP Queue Menu"));
-        menuSize = config.getInt("menu.size", 36);
-
-        // Load menu items
-        menuItems.clear();
-        if (config.isConfigurationSection("menu.items")) {
-            for (String key : config.getConfigurationSection("menu.items").getKeys(false)) {
-                Map<String, Object> itemData = new HashMap<>();
-                itemData.put("Material", config.getString("menu.items." + key + ".Material"));
-                itemData.put("slot", config.getInt("menu.items." + key + ".slot"));
-                itemData.put("display_name", config.getString("menu.items." + key + ".display_name"));
-                itemData.put("lore", config.getStringList("menu.items." + key + ".lore"));
-                itemData.put("actions", config.getStringList("menu.items." + key + ".actions"));
-                menuItems.put(key, itemData);
+    /**
+     * Starts driving the queue core every tick and loads persisted cooldowns in the background.
+     */
+    public void start() {
+        tickTask = scheduler.runGlobalTimer(this::tick, 1L, 1L);
+        priorityTask = scheduler.runGlobalTimer(this::refreshPriorities, PRIORITY_RECHECK_TICKS, PRIORITY_RECHECK_TICKS);
+        scheduler.runAsync(() -> {
+            try {
+                playerCooldowns.load(System.currentTimeMillis());
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to load cooldowns: " + e.getMessage());
+            }
+        });
+        // Drop expired cooldowns and append new ones to disk every 5 seconds
+        scheduler.runAsyncTimer(() -> {
+            try {
+                playerCooldowns.maintain(System.currentTimeMillis());
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to save cooldowns: " + e.getMessage());
             }
+        }, 100L, 100L);
+    }
+
+    /**
+     * Runs the queue core for one tick and records how long it took.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+        core.tick();
+        metrics.recordSection(PluginMetrics.SECTION_QUEUE_TICK, start);
+    }
+
+    /**
+     * Attempts to join a player to a queue, given by profile name or world name.
+     */
+    public void joinQueue(Player player, String queueName) {
+        if (!scheduler.isGlobalThread()) {
+            scheduler.executeGlobal(() -> joinQueue(player, queueName));
+            return;
+        }
+        JoinResult result = core.join(player.getUniqueId(), queueName, config.getPriorityHeadStart(player));
+        switch (result.outcome()) {
+            case UNKNOWN_QUEUE -> config.getMessage("invalid-world").send(player, MessageArgs.world(queueName));
+            case ON_COOLDOWN -> config.getMessage("cooldown-active").send(player, MessageArgs.of(Placeholder.COOLDOWN, result.cooldownRemaining() / 1000));
+            case ALREADY_QUEUED -> config.getMessage("already-in-queue").send(player, MessageArgs.world(result.queueKey()));
+            case JOINED -> config.getMessage("queue-joined").send(player, MessageArgs.world(result.queueKey()));
         }
+    }
 
-        // Load messages.yml
-        messagesFile = new File(plugin.getDataFolder(), "messages.yml");
-        if (!messagesFile.exists()) {
-            plugin.saveResource("messages.yml", false);
+    /**
+     * Re-ranks a queued player after their priority tier changed, in O(log n).
+     */
+    public void refreshPriority(Player player) {
+        if (!scheduler.isGlobalThread()) {
+            scheduler.executeGlobal(() -> refreshPriority(player));
+            return;
         }
-        messagesConfig = YamlConfiguration.loadConfiguration(messagesFile);
+        core.refreshPriority(player.getUniqueId(), config.getPriorityHeadStart(player));
+    }
 
-        // Load chat messages
-        messages.clear();
-        for (String key : messagesConfig.getConfigurationSection("").getKeys(false)) {
-            if (messagesConfig.isList(key)) {
-                messages.put(key, messagesConfig.getStringList(key));
+    /**
+     * Re-ranks every queued player whose priority tier changed since they joined.
+     */
+    private void refreshPriorities() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (core.isQueued(player.getUniqueId())) {
+                refreshPriority(player);
             }
         }
-        
-        // Load titles
-        titles.clear();
-        titles.put("teleport", ChatUtil.color(messagesConfig.getString("titles.teleport", "&a&lACCEPTED")));
-        titles.put("teleport-subtitle", ChatUtil.color(messagesConfig.getString("titles.subtitles.teleport", "&aTeleporting...")));
     }
 
-    public Optional<Inventory> createQueueMenu(String title, int size, Player player) {
-        try {
-            Inventory menu = Bukkit.createInventory(null, size, title);
+    /**
+     * Removes a player from their current queue.
+     */
+    public void leaveQueue(Player player) {
+        if (!scheduler.isGlobalThread()) {
+            scheduler.executeGlobal(() -> leaveQueue(player));
+            return;
+        }
+        if (core.leave(player.getUniqueId()) != null) {
+            config.getMessage("queue-leaved").send(player);
+        }
+    }
 
-            for (Map.Entry<String, Map<String, Object>> entry : menuItems.entrySet()) {
-                Map<String, Object> itemData = entry.getValue();
+    /**
+     * Handles a player who quit, changed worlds or died: removes them from their queue and,
+     * if they were counting down in a match, refills their slot from the queue or cancels the match.
+     */
+    public void handleDeparture(Player player) {
+        if (!scheduler.isGlobalThread()) {
+            scheduler.executeGlobal(() -> handleDeparture(player));
+            return;
+        }
+        Departure<QueueProfile> departure = core.depart(player.getUniqueId(), config.isRefillMatches());
+        Match match = departure.match() != null ? matches.get(departure.match()) : null;
+        if (match == null) return;
+        match.removeMember(player.getUniqueId());
+        countdownDisplay.removeViewer(match, player);
 
-                Material material = Material.getMaterial((String) itemData.getOrDefault("Material", "STONE"));
-                int slot = (int) itemData.getOrDefault("slot", 0);
-                String displayName = (String) itemData.getOrDefault("display_name", "&fDefault Name");
-                List<String> lore = (List<String>) itemData.getOrDefault("lore", new ArrayList<>());
+        String key = match.getQueueName();
+        Player replacement = departure.isRefilled() ? Bukkit.getPlayer(departure.replacement()) : null;
+        if (replacement != null) {
+            match.addMember(replacement, locationPools, chunkTickets);
+            countdownDisplay.addViewer(match, replacement);
+            config.getMessage("queue-teleport").send(replacement, MessageArgs.world(match.getWorldName()));
+            config.sendTitle(replacement, "teleport");
+            config.getMessage("match-refilled").send(match.getMembers(), MessageArgs.world(key).player(player.getName()));
+            return;
+        }
+        if (!departure.isMatchCancelled()) return; // The replacement quit in the meantime; their own departure follows
 
-                ItemStack item = new ItemStack(material != null ? material : Material.STONE);
-                ItemMeta meta = item.getItemMeta();
+        // The core put the remaining members back at the front of the queue
+        List<Player> remaining = match.getMembers();
+        matches.remove(departure.match());
+        countdownDisplay.finish(match);
+        finishMatch(match);
+        config.getMessage("match-cancelled").send(remaining, MessageArgs.world(key).player(player.getName()));
+    }
 
-                // Apply Placeholders to Name and Lore
-                String finalDisplayName = PlaceholderAPI.setPlaceholders(player, displayName);
-                meta.setDisplayName(ChatUtil.color(finalDisplayName));
+    /**
+     * Creates the server side of a match and reserves its destinations now so their chunks load during the countdown.
+     */
+    @Override
+    public void matchStarted(MatchGroup<QueueProfile> group) {
+        List<Player> members = new ArrayList<>(group.getMembers().size());
+        for (UUID uuid : group.getMembers()) {
+            Player member = Bukkit.getPlayer(uuid);
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        QueueProfile profile = group.getRules();
+        Match match = new Match(profile, members);
+        match.reserveDestinations(locationPools, chunkTickets, config.getPlacementMode(), config.getScatterRadius());
+        matches.put(group, match);
+        activeMatches.add(match);
+        metrics.recordMatch();
 
-                List<String> finalLore = new ArrayList<>();
-                for (String line : lore) {
-                    finalLore.add(ChatUtil.color(PlaceholderAPI.setPlaceholders(player, line)));
-                }
-                meta.setLore(finalLore);
+        // Send initial teleport message and title; the core starts the countdown right after this
+        config.getMessage("queue-teleport").send(members, MessageArgs.world(profile.worldName()));
+        for (Player p : members) {
+            config.sendTitle(p, "teleport");
+            playSound(p, Sound.ENTITY_EXPERIENCE_ORB_PICKUP);
+        }
+        countdownDisplay.start(match, profile.teleportDelay());
 
-                item.setItemMeta(meta);
+        // Announce the match per world, like the world cooldown; matches formed close together share one broadcast
+        broadcasts.recordMatch(profile.worldName(), members.isEmpty() ? "" : members.get(0).getName());
+    }
 
-                if (slot >= 0 && slot < size) {
-                    menu.setItem(slot, item);
-                } else {
-                    plugin.getLogger().warning("Invalid slot (" + slot + ") for item: " + entry.getKey());
-                }
+    /**
+     * Announces one second of a match's countdown. The display renders it once and shares it with all members.
+     */
+    @Override
+    public void countdownSecond(MatchGroup<QueueProfile> group, int secondsLeft) {
+        Match match = matches.get(group);
+        if (match == null) return;
+        countdownDisplay.update(match, secondsLeft);
+        for (Player p : match.getMembers()) {
+            if (p.isOnline()) {
+                playSound(p, Sound.BLOCK_NOTE_BLOCK_HAT);
             }
+        }
+    }
 
-            return Optional.of(menu);
+    /**
+     * Teleports the members of a match whose countdown has reached zero.
+     */
+    @Override
+    public void countdownFinished(MatchGroup<QueueProfile> group) {
+        Match match = matches.remove(group);
+        if (match == null) return;
+        long start = System.nanoTime();
+        countdownDisplay.finish(match);
+        QueueProfile profile = match.getProfile();
+        long cooldown = profile.cooldown() * 1000L;
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to create RTP Queue Menu: " + e.getMessage());
-            e.printStackTrace();
-            return Optional.empty();
+        List<CompletableFuture<Boolean>> teleports = new ArrayList<>();
+        for (Player p : match.getMembers()) {
+            if (p.isOnline()) {
+                teleports.add(performRTP(p, profile, match.getDestination(p.getUniqueId()), cooldown, start));
+            }
+        }
+        metrics.recordSection(PluginMetrics.SECTION_PERFORM_RTP, start);
+        // The chunk tickets are only needed until everyone has arrived
+        CompletableFuture.allOf(teleports.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> scheduler.executeGlobal(() -> finishMatch(match)));
+    }
+
+    @Override
+    public void playerMatched(UUID uuid, String queueKey, long waitMillis) {
+        metrics.recordQueueWait(queueKey, waitMillis);
+    }
+
+    @Override
+    public void stillWaiting(UUID uuid, String queueKey, int waiting) {
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            config.getMessage("not-enough-players").send(player, MessageArgs.world(queueKey).count(waiting));
+        }
+    }
+
+    @Override
+    public void queueChanged(String queueKey) {
+        for (Consumer<String> listener : countListeners) {
+            listener.accept(queueKey);
         }
     }
 
     /**
-     * Attempts to find the config key for a given ItemStack, primarily used for menu listeners.
-     * This method is a simplified example and assumes unique names/lore are enough for identification.
+     * Releases a match's chunk tickets and stops tracking it.
      */
-    public Optional<String> getItemKeyByItemStack(ItemStack itemStack) {
-        ItemMeta meta = itemStack.getItemMeta();
-        if (meta == null || !meta.hasDisplayName()) return Optional.empty();
-
-        // Strip color codes and placeholders for a loose comparison
-        String clickedName = ChatUtil.stripColor(meta.getDisplayName()).trim();
+    private void finishMatch(Match match) {
+        match.release();
+        activeMatches.remove(match);
+    }
 
-        for (String key : menuItems.keySet()) {
-            String configName = (String) menuItems.get(key).getOrDefault("display_name", "");
-            
-            // PlaceholderAPI usage here would be complex, so we check the raw, unparsed name
-            // In a full implementation, you'd compare item NBT/tags.
-            String rawConfigName = ChatUtil.stripColor(configName).trim();
-            if (rawConfigName.equalsIgnoreCase(clickedName)) {
-                return Optional.of(key);
+    /**
+     * Removes players waiting in queues that a config reload removed, and tells them.
+     */
+    public void dropRemovedQueues() {
+        core.dropUnknownQueues().forEach((queueKey, players) -> {
+            for (UUID uuid : players) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    config.getMessage("queue-removed").send(player, MessageArgs.world(queueKey));
+                }
             }
+        });
+    }
+
+    /**
+     * Cancels all running matches and releases their chunk tickets, used on shutdown.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        if (priorityTask != null) {
+            priorityTask.cancel();
+            priorityTask = null;
+        }
+        core.clear();
+        countdownDisplay.clear();
+        activeMatches.forEach(Match::release);
+        activeMatches.clear();
+        matches.clear();
+
+        try {
+            playerCooldowns.close(System.currentTimeMillis());
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to save cooldowns: " + e.getMessage());
         }
-        return Optional.empty();
     }
-    
-    public List<String> getItemActions(String itemKey) {
-        return (List<String>) menuItems.getOrDefault(itemKey, new HashMap<>()).get("actions");
+
+    /**
+     * Performs the actual Random Teleport to a destination reserved when the match formed.
+     * By the time the countdown ends the destination chunk is normally loaded and ticketed.
+     * The teleport itself is asynchronous; the arrival effects and the cooldown are applied
+     * by the teleport service within its per-tick budget.
+     * @param countdownEnd When the countdown reached zero ({@link System#nanoTime()}), to measure the arrival latency.
+     */
+    private CompletableFuture<Boolean> performRTP(Player player, QueueProfile profile, CompletableFuture<Location> destination, long cooldown, long countdownEnd) {
+        return destination.exceptionally(error -> null).thenCompose(rtpLoc -> teleportService.teleport(player, rtpLoc, profile.locationSettings(), () -> {
+            metrics.recordArrival(countdownEnd);
+            core.startCooldown(player.getUniqueId(), cooldown);
+            if (!player.isOnline()) return;
+
+            config.getMessage("teleport-success").send(player, MessageArgs.world(profile.worldName()));
+            player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+        }));
     }
 
     /**
-     * Sends messages from messages.yml to a player, replacing placeholders.
+     * Plays a sound at the player's location on the region that owns the player.
      */
-    public void sendMessages(Player player, List<String> messages, String worldPlaceholder, String countPlaceholder) {
-        if (messages == null) return;
-        for (String line : messages) {
-            line = line.replace("{world}", worldPlaceholder);
-            line = line.replace("{count}", countPlaceholder);
-            player.sendMessage(ChatUtil.color(line));
-        }
+    private void playSound(Player player, Sound sound) {
+        scheduler.executeForEntity(player, () -> player.playSound(player.getLocation(), sound, 1.0f, 1.0f));
     }
 
-    public void sendMessages(Player player, List<String> messages, String worldPlaceholder) {
-        sendMessages(player, messages, worldPlaceholder, ""); // Overload for simpler calls
+    private static boolean isOnline(UUID uuid) {
+        Player player = Bukkit.getPlayer(uuid);
+        return player != null && player.isOnline();
     }
 
-    public void sendMessages(Player player, List<String> messages) {
-        sendMessages(player, messages, "", ""); // Overload for no world/count placeholders
+    /**
+     * Registers a callback that receives the key of a queue whenever its size changes.
+     */
+    public void addCountListener(Consumer<String> listener) {
+        countListeners.add(listener);
     }
 
     /**
-     * Sends a broadcast message from messages.yml, replacing placeholders.
+     * Gets the number of players in a specific world queue.
      */
-    public void broadcastMessages(Player player, List<String> messages, String worldName) {
-        if (messages == null) return;
-        for (String line : messages) {
-            line = line.replace("{world}", worldName);
-            line = line.replace("{player}", player.getName());
-            Bukkit.broadcastMessage(ChatUtil.color(line));
-        }
+    public int getQueueCount(String queueName) {
+        return core.size(queueName.toLowerCase());
     }
 
     /**
-     * Sends a title and subtitle from messages.yml
+     * Gets the number of matches currently counting down.
      */
-    public void sendTitle(Player player, String key) {
-        String title = titles.get(key);
-        String subtitle = titles.get(key + "-subtitle");
-        if (title != null && subtitle != null) {
-            player.sendTitle(title, subtitle, 10, 40, 10);
-        }
+    public int getActiveCountdowns() {
+        return core.getActiveCountdowns();
     }
 
+    /**
+     * Checks if a player is in any queue.
+     */
+    public boolean isPlayerInAnyQueue(Player player) {
+        return core.isQueued(player.getUniqueId());
+    }
 
-    // Getters
-    public int getTeleportDelay() { return teleportDelay; }
-    public int getCooldown() { return cooldown; }
-    public int getMaxPlayersPerQueue() { return maxPlayersPerQueue; }
-    public String getMenuTitle() { return menuTitle; }
-    public int getMenuSize() { return menuSize; }
-    public Map<String, List<String>> getMessages() { return messages; }
+    /**
+     * Gets the world name the player is currently queued for.
+     */
+    public String getQueuedWorld(Player player) {
+        return core.getQueue(player.getUniqueId());
+    }
 }
@@ -0,0 +1,12 @@
+package com.rtpqueuez.scheduler;
+
+/**
+ * A scheduled task that can be cancelled, independent of the server's scheduler implementation.
+ */
+@FunctionalInterface
+public interface TaskHandle {
+
+    TaskHandle NONE = () -> { };
+
+    void cancel();
+}
@@ -0,0 +1,63 @@
+package com.rtpqueuez.scheduler;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules plugin work on the right thread for the server it runs on.
+ * <p>
+ * On Paper every "global", "entity" and "chunk" task runs on the main thread, exactly as before.
+ * On Folia global tasks (queue state, match formation, countdowns) run on the global region,
+ * entity tasks (per-player effects, teleports, menus) on the region owning the entity and
+ * chunk tasks on the region owning the chunk. The {@code execute} methods run the task right
+ * away when the caller is already on the right thread and schedule it otherwise.
+ * Delays and periods are in ticks.
+ */
+public interface TaskScheduler {
+
+    static TaskScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Whether the caller is on the thread that owns global state: the global region on Folia,
+     * the main thread everywhere else. Global tasks and {@link #executeGlobal} run there.
+     */
+    boolean isGlobalThread();
+
+    void executeGlobal(Runnable task);
+
+    TaskHandle runGlobal(Runnable task);
+
+    TaskHandle runGlobalLater(Runnable task, long delay);
+
+    TaskHandle runGlobalTimer(Runnable task, long delay, long period);
+
+    TaskHandle runAsync(Runnable task);
+
+    TaskHandle runAsyncTimer(Runnable task, long delay, long period);
+
+    /**
+     * Runs work that touches an entity. Dropped if the entity is removed before it runs.
+     */
+    void executeForEntity(Entity entity, Runnable task);
+
+    TaskHandle runForEntityLater(Entity entity, Runnable task, long delay);
+
+    void executeAtChunk(World world, int chunkX, int chunkZ, Runnable task);
+
+    /**
+     * Cancels every global and async task of the plugin, used on disable.
+     */
+    void cancelAll();
+}
@@ -0,0 +1,62 @@
+package com.rtpqueuez.teleport;
+
+import com.rtpqueuez.RTPQueueZ;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reference-counted plugin chunk tickets.
+ * Bukkit only keeps one ticket per plugin and chunk, so two matches sharing a chunk
+ * must not release each other's ticket. The real ticket is added on the first acquire
+ * and removed on the last release.
+ */
+public class ChunkTicketManager {
+
+    private final RTPQueueZ plugin;
+    private final Map<TicketKey, Integer> holders = new ConcurrentHashMap<>();
+
+    public ChunkTicketManager(RTPQueueZ plugin) {
+        this.plugin = plugin;
+    }
+
+    public void acquire(World world, int chunkX, int chunkZ) {
+        holders.compute(new TicketKey(world.getUID(), chunkX, chunkZ), (key, count) -> {
+            if (count == null) {
+                world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+                return 1;
+            }
+            return count + 1;
+        });
+    }
+
+    /**
+     * Drops one hold on a chunk. The ticket itself is removed on the region owning the chunk.
+     */
+    public void release(World world, int chunkX, int chunkZ) {
+        plugin.getTaskScheduler().executeAtChunk(world, chunkX, chunkZ, () ->
+                holders.computeIfPresent(new TicketKey(world.getUID(), chunkX, chunkZ), (key, count) -> {
+                    if (count > 1) {
+                        return count - 1;
+                    }
+                    world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+                    return null;
+                }));
+    }
+
+    /**
+     * Drops every ticket this plugin holds, used on shutdown.
+     */
+    public void releaseAll() {
+        for (World world : Bukkit.getWorlds()) {
+            world.removePluginChunkTickets(plugin);
+        }
+        holders.clear();
+    }
+
+    private record TicketKey(UUID worldId, int chunkX, int chunkZ) {
+    }
+}
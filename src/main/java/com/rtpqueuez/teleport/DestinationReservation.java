@@ -0,0 +1,96 @@
+package com.rtpqueuez.teleport;
+
+import com.rtpqueuez.metrics.PluginMetrics;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A teleport destination chosen ahead of time whose surrounding chunks are loaded asynchronously
+ * and held by plugin chunk tickets until {@link #release()} is called.
+ */
+public class DestinationReservation {
+
+    private final ChunkTicketManager tickets;
+    private final PluginMetrics metrics;
+    private final int spreadRadius;
+    private final CompletableFuture<Location> destination;
+    private World ticketWorld;
+    private final List<int[]> heldChunks = new ArrayList<>();
+    private boolean released;
+
+    private DestinationReservation(ChunkTicketManager tickets, PluginMetrics metrics, CompletableFuture<Location> source, int spreadRadius) {
+        this.tickets = tickets;
+        this.metrics = metrics;
+        this.spreadRadius = spreadRadius;
+        this.destination = source.thenCompose(location -> {
+            if (location == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return loadArea(location).thenApply(ignored -> location);
+        });
+    }
+
+    /**
+     * Takes a destination from the pool and starts loading its chunk right away.
+     */
+    public static DestinationReservation reserve(LocationPoolManager pools, ChunkTicketManager tickets, LocationSettings settings) {
+        return reserve(pools, tickets, settings, 0);
+    }
+
+    /**
+     * Takes a destination from the pool and starts loading every chunk within
+     * {@code spreadRadius} blocks of it, so nearby spots can be used without further loads.
+     */
+    public static DestinationReservation reserve(LocationPoolManager pools, ChunkTicketManager tickets, LocationSettings settings, int spreadRadius) {
+        return new DestinationReservation(tickets, pools.getMetrics(), pools.take(settings), spreadRadius);
+    }
+
+    /**
+     * @return A future completed once the destination is chosen and its chunks are loaded,
+     * or with null if no safe location could be found.
+     */
+    public CompletableFuture<Location> getDestination() {
+        return destination;
+    }
+
+    /**
+     * Releases the chunk tickets. Safe to call more than once and before the chunks have loaded.
+     */
+    public synchronized void release() {
+        released = true;
+        for (int[] chunk : heldChunks) {
+            tickets.release(ticketWorld, chunk[0], chunk[1]);
+        }
+        heldChunks.clear();
+    }
+
+    private CompletableFuture<Void> loadArea(Location center) {
+        World world = center.getWorld();
+        int minChunkX = (center.getBlockX() - spreadRadius) >> 4;
+        int maxChunkX = (center.getBlockX() + spreadRadius) >> 4;
+        int minChunkZ = (center.getBlockZ() - spreadRadius) >> 4;
+        int maxChunkZ = (center.getBlockZ() + spreadRadius) >> 4;
+
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                int x = chunkX;
+                int z = chunkZ;
+                loads.add(world.getChunkAtAsync(x, z).thenAccept(chunk -> hold(world, x, z)));
+            }
+        }
+        metrics.recordReservation(loads.size());
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+    }
+
+    private synchronized void hold(World world, int chunkX, int chunkZ) {
+        if (released) return;
+        tickets.acquire(world, chunkX, chunkZ);
+        ticketWorld = world;
+        heldChunks.add(new int[]{chunkX, chunkZ});
+    }
+}
@@ -0,0 +1,109 @@
+package com.rtpqueuez.teleport;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.exclusion.ExclusionRegistry;
+import com.rtpqueuez.metrics.PluginMetrics;
+import com.rtpqueuez.scheduler.TaskHandle;
+import org.bukkit.Location;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns one {@link SafeLocationPool} per distinct set of search settings and keeps them filled
+ * in the background. Queue profiles that search the same area share a pool.
+ */
+public class LocationPoolManager {
+
+    private final RTPQueueZ plugin;
+    private final QueueConfig config;
+    private final ExclusionRegistry exclusions;
+    private final Map<LocationSettings, SafeLocationPool> pools = new ConcurrentHashMap<>();
+    private TaskHandle producerTask;
+
+    public LocationPoolManager(RTPQueueZ plugin, QueueConfig config, ExclusionRegistry exclusions) {
+        this.plugin = plugin;
+        this.config = config;
+        this.exclusions = exclusions;
+    }
+
+    /**
+     * Creates pools for all configured worlds and queue profiles and starts the refill task (once per second).
+     */
+    public void start() {
+        createConfiguredPools();
+        producerTask = plugin.getTaskScheduler().runGlobalTimer(this::refillAll, 20L, 20L);
+    }
+
+    /**
+     * Matches the pools to a reloaded config: creates pools for new settings and drops pools whose
+     * settings are no longer used. Destinations already taken from a dropped pool are unaffected.
+     */
+    public void reload() {
+        Set<LocationSettings> used = new HashSet<>();
+        config.getProfiles().forEach(profile -> used.add(profile.locationSettings()));
+        pools.keySet().removeIf(settings -> !used.contains(settings)
+                && !settings.equals(config.getLocationSettings(settings.worldName())));
+        createConfiguredPools();
+    }
+
+    public void stop() {
+        if (producerTask != null) {
+            producerTask.cancel();
+            producerTask = null;
+        }
+        pools.clear();
+    }
+
+    /**
+     * Gets the pool for a world, creating it on first use so unconfigured worlds start filling too.
+     */
+    public SafeLocationPool getPool(String worldName) {
+        return getPool(config.getLocationSettings(worldName));
+    }
+
+    /**
+     * Gets the pool for a set of search settings, creating it on first use.
+     */
+    public SafeLocationPool getPool(LocationSettings settings) {
+        return pools.computeIfAbsent(settings, key -> new SafeLocationPool(key, exclusions, plugin.getMetrics()));
+    }
+
+    /**
+     * Takes a destination matching the given settings, see {@link SafeLocationPool#take()}.
+     */
+    public CompletableFuture<Location> take(LocationSettings settings) {
+        return getPool(settings).take();
+    }
+
+    /**
+     * @return A snapshot of every pool created so far.
+     */
+    public List<SafeLocationPool> getPools() {
+        return List.copyOf(pools.values());
+    }
+
+    public ExclusionRegistry getExclusions() {
+        return exclusions;
+    }
+
+    public PluginMetrics getMetrics() {
+        return plugin.getMetrics();
+    }
+
+    private void createConfiguredPools() {
+        config.getConfiguredRtpWorlds().forEach(this::getPool);
+        config.getProfiles().forEach(profile -> getPool(profile.locationSettings()));
+    }
+
+    private void refillAll() {
+        for (SafeLocationPool pool : pools.values()) {
+            pool.refill();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.rtpqueuez.teleport;
+
+/**
+ * Search and pool settings for random teleport destinations in a single world.
+ *
+ * @param worldName   The world the settings apply to.
+ * @param centerX     X coordinate of the search area center.
+ * @param centerZ     Z coordinate of the search area center.
+ * @param radius      Half the side length of the square search area.
+ * @param poolSize    How many validated destinations to keep ready.
+ * @param refillRate  How many candidate searches may be started per second while the pool is below size.
+ * @param maxAttempts How many random candidates a single search may try before giving up.
+ */
+public record LocationSettings(String worldName, int centerX, int centerZ, int radius,
+                               int poolSize, int refillRate, int maxAttempts) {
+
+    /**
+     * Returns a copy of these settings bound to another world.
+     */
+    public LocationSettings forWorld(String otherWorld) {
+        return new LocationSettings(otherWorld, centerX, centerZ, radius, poolSize, refillRate, maxAttempts);
+    }
+}
@@ -0,0 +1,77 @@
+package com.rtpqueuez.teleport;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public final class LocationValidator {
+
+    /**
+     * Blocks a player must never be placed on, even though some of them are solid.
+     */
+    private static final Set<Material> UNSAFE_GROUND = EnumSet.of(
+            Material.LAVA, Material.WATER, Material.MAGMA_BLOCK, Material.CACTUS,
+            Material.CAMPFIRE, Material.SOUL_CAMPFIRE, Material.FIRE, Material.SOUL_FIRE,
+            Material.SWEET_BERRY_BUSH, Material.POWDER_SNOW, Material.POINTED_DRIPSTONE,
+            Material.BEDROCK
+    );
+
+    private LocationValidator() {
+    }
+
+    /**
+     * Looks for a safe standing spot in the column at the given block coordinates.
+     * The chunk must already be loaded, so every lookup here is a cheap in-memory read.
+     * @return The location to teleport to, or null if the column is unsafe.
+     */
+    public static Location findSafeLocation(Chunk chunk, int x, int z) {
+        World world = chunk.getWorld();
+        int localX = x & 15;
+        int localZ = z & 15;
+
+        int groundY = world.getEnvironment() == World.Environment.NETHER
+                ? findCaveFloor(chunk, localX, localZ, world.getMinHeight(), world.getLogicalHeight() - 3)
+                : world.getHighestBlockYAt(x, z);
+
+        // Nothing solid in the column means a void drop (e.g. the outer End islands)
+        if (groundY <= world.getMinHeight()) return null;
+
+        if (!isSafeGround(chunk.getBlock(localX, groundY, localZ))
+                || !isFreeSpace(chunk.getBlock(localX, groundY + 1, localZ))
+                || !isFreeSpace(chunk.getBlock(localX, groundY + 2, localZ))) {
+            return null;
+        }
+
+        Location location = new Location(world, x + 0.5, groundY + 1, z + 0.5);
+        return world.getWorldBorder().isInside(location) ? location : null;
+    }
+
+    /**
+     * Scans a column downwards for a solid block with two free blocks above it.
+     * Used for worlds with a roof, where the highest block is always the ceiling.
+     */
+    private static int findCaveFloor(Chunk chunk, int localX, int localZ, int minY, int maxY) {
+        for (int y = maxY; y > minY; y--) {
+            if (isFreeSpace(chunk.getBlock(localX, y + 1, localZ))
+                    && isFreeSpace(chunk.getBlock(localX, y + 2, localZ))
+                    && isSafeGround(chunk.getBlock(localX, y, localZ))) {
+                return y;
+            }
+        }
+        return minY;
+    }
+
+    private static boolean isSafeGround(Block block) {
+        Material type = block.getType();
+        return type.isSolid() && !UNSAFE_GROUND.contains(type);
+    }
+
+    private static boolean isFreeSpace(Block block) {
+        return block.isPassable() && !block.isLiquid() && !UNSAFE_GROUND.contains(block.getType());
+    }
+}
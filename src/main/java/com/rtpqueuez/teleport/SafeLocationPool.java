@@ -0,0 +1,152 @@
+package com.rtpqueuez.teleport;
+
+import com.rtpqueuez.exclusion.ExclusionIndex;
+import com.rtpqueuez.exclusion.ExclusionRegistry;
+import com.rtpqueuez.metrics.PluginMetrics;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of already-validated teleport destinations for one world.
+ * Candidates are checked on chunks loaded through Paper's async chunk API,
+ * so taking a destination never loads or generates chunks on the main thread.
+ */
+public class SafeLocationPool {
+
+    private static final int SAMPLES_PER_ATTEMPT = 32;
+
+    private final LocationSettings settings;
+    private final ExclusionRegistry exclusions;
+    private final PluginMetrics metrics;
+    private final Queue<Location> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readyCount = new AtomicInteger();
+    private final AtomicInteger searching = new AtomicInteger();
+
+    public SafeLocationPool(LocationSettings settings, ExclusionRegistry exclusions, PluginMetrics metrics) {
+        this.settings = settings;
+        this.exclusions = exclusions;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Takes a ready destination from the pool in O(1). Destinations that fall in an exclusion zone
+     * added since they were found are dropped.
+     * @return A validated location, or null if the pool is currently empty.
+     */
+    public Location poll() {
+        Location location;
+        while ((location = ready.poll()) != null) {
+            readyCount.decrementAndGet();
+            if (!exclusions.get(location.getWorld().getName()).isExcluded(location.getBlockX(), location.getBlockZ())) {
+                return location;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a ready destination, or starts an urgent search if the pool has run dry.
+     * @return A future completed with a safe location, or null if none was found.
+     */
+    public CompletableFuture<Location> take() {
+        Location location = poll();
+        if (location != null) {
+            return CompletableFuture.completedFuture(location);
+        }
+        World world = Bukkit.getWorld(settings.worldName());
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return search(world, 1, 0, true);
+    }
+
+    /**
+     * Starts background searches until the pool (including in-flight searches) reaches its target size.
+     * Limited to the configured refill rate per call.
+     */
+    public void refill() {
+        int missing = settings.poolSize() - readyCount.get() - searching.get();
+        if (missing <= 0) return;
+
+        World world = Bukkit.getWorld(settings.worldName());
+        if (world == null) return;
+
+        int toStart = Math.min(missing, settings.refillRate());
+        for (int i = 0; i < toStart; i++) {
+            searching.incrementAndGet();
+            search(world, 1, 0, false).whenComplete((location, error) -> {
+                searching.decrementAndGet();
+                if (location != null) {
+                    ready.offer(location);
+                    readyCount.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Picks random candidates until one passes validation or the attempts run out.
+     * Each attempt loads at most one chunk: candidates outside the world border or inside an
+     * exclusion zone are redrawn first, so chunk loads are only spent on allowed spots.
+     * @param attempt    The current attempt, starting at 1.
+     * @param chunkLoads The chunks loaded by earlier attempts.
+     */
+    private CompletableFuture<Location> search(World world, int attempt, int chunkLoads, boolean urgent) {
+        int[] candidate = sampleAllowed(world);
+        if (candidate == null) {
+            return attempt < settings.maxAttempts() ? search(world, attempt + 1, chunkLoads, urgent) : finish(null, attempt, chunkLoads);
+        }
+        int x = candidate[0];
+        int z = candidate[1];
+
+        CompletableFuture<Chunk> chunkFuture = urgent
+                ? world.getChunkAtAsyncUrgently(x >> 4, z >> 4)
+                : world.getChunkAtAsync(x >> 4, z >> 4);
+
+        return chunkFuture.thenCompose(chunk -> {
+            Location location = LocationValidator.findSafeLocation(chunk, x, z);
+            if (location != null || attempt >= settings.maxAttempts()) {
+                return finish(location, attempt, chunkLoads + 1);
+            }
+            return search(world, attempt + 1, chunkLoads + 1, urgent);
+        });
+    }
+
+    private CompletableFuture<Location> finish(Location location, int attempts, int chunkLoads) {
+        metrics.recordSearch(attempts, chunkLoads);
+        return CompletableFuture.completedFuture(location);
+    }
+
+    /**
+     * Draws random columns in the search area until one is inside the world border and outside
+     * every exclusion zone. Only coordinates are checked, nothing is loaded.
+     * @return The x and z of the column, or null if every sample was rejected.
+     */
+    private int[] sampleAllowed(World world) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ExclusionIndex excluded = exclusions.get(world.getName());
+        Location probe = new Location(world, 0, 0, 0);
+        for (int sample = 0; sample < SAMPLES_PER_ATTEMPT; sample++) {
+            int x = settings.centerX() + random.nextInt(-settings.radius(), settings.radius() + 1);
+            int z = settings.centerZ() + random.nextInt(-settings.radius(), settings.radius() + 1);
+            if (excluded.isExcluded(x, z)) continue;
+            probe.setX(x);
+            probe.setZ(z);
+            if (world.getWorldBorder().isInside(probe)) {
+                return new int[]{x, z};
+            }
+        }
+        return null;
+    }
+
+    public LocationSettings getSettings() { return settings; }
+    public int getReadyCount() { return readyCount.get(); }
+}
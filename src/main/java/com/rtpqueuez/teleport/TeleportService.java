@@ -0,0 +1,115 @@
+package com.rtpqueuez.teleport;
+
+import com.rtpqueuez.RTPQueueZ;
+import com.rtpqueuez.config.QueueConfig;
+import com.rtpqueuez.message.MessageArgs;
+import com.rtpqueuez.scheduler.TaskHandle;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs teleports through Paper's {@code teleportAsync} and spreads the work that follows an
+ * arrival (messages, sounds, cooldowns) across ticks within a configurable per-tick budget.
+ * Failed teleports are retried with a fresh destination from the world's pool.
+ */
+public class TeleportService {
+
+    private final RTPQueueZ plugin;
+    private final QueueConfig config;
+    private final LocationPoolManager locationPools;
+    private final Queue<Runnable> arrivals = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTeleports = new AtomicInteger();
+    private TaskHandle arrivalTask;
+
+    public TeleportService(RTPQueueZ plugin, QueueConfig config, LocationPoolManager locationPools) {
+        this.plugin = plugin;
+        this.config = config;
+        this.locationPools = locationPools;
+    }
+
+    public void start() {
+        arrivalTask = plugin.getTaskScheduler().runGlobalTimer(this::processArrivals, 1L, 1L);
+    }
+
+    public void stop() {
+        if (arrivalTask != null) {
+            arrivalTask.cancel();
+            arrivalTask = null;
+        }
+        // Run what is left so no cooldown is lost on shutdown
+        Runnable arrival;
+        while ((arrival = arrivals.poll()) != null) {
+            arrival.run();
+        }
+    }
+
+    /**
+     * Teleports a player without blocking the main thread.
+     * @param destination The reserved destination, or null to take a new one from the pool.
+     * @param settings    The search settings used to pick a new destination when an attempt fails.
+     * @param onArrival   Work to run once the player has arrived, queued behind the per-tick budget.
+     * @return A future completed with true once the player has arrived, or false if every attempt failed.
+     */
+    public CompletableFuture<Boolean> teleport(Player player, Location destination, LocationSettings settings, Runnable onArrival) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        pendingTeleports.incrementAndGet();
+        result.whenComplete((arrived, error) -> pendingTeleports.decrementAndGet());
+        attempt(player, destination, settings, config.getTeleportMaxRetries(), onArrival, result);
+        return result;
+    }
+
+    private void attempt(Player player, Location destination, LocationSettings settings, int retriesLeft,
+                         Runnable onArrival, CompletableFuture<Boolean> result) {
+        if (!player.isOnline()) {
+            result.complete(false);
+            return;
+        }
+        if (destination == null) {
+            retry(player, settings, retriesLeft, onArrival, result);
+            return;
+        }
+
+        // Folia only accepts teleports from the region that owns the player
+        plugin.getTaskScheduler().executeForEntity(player, () -> player.teleportAsync(destination, PlayerTeleportEvent.TeleportCause.PLUGIN).whenComplete((success, error) -> {
+            if (error == null && Boolean.TRUE.equals(success)) {
+                plugin.getMetrics().recordTeleport(true);
+                arrivals.offer(() -> plugin.getTaskScheduler().executeForEntity(player, onArrival));
+                result.complete(true);
+            } else {
+                retry(player, settings, retriesLeft, onArrival, result);
+            }
+        }));
+    }
+
+    private void retry(Player player, LocationSettings settings, int retriesLeft, Runnable onArrival, CompletableFuture<Boolean> result) {
+        if (retriesLeft <= 0 || !player.isOnline()) {
+            plugin.getMetrics().recordTeleport(false);
+            arrivals.offer(() -> {
+                if (player.isOnline()) {
+                    config.getMessage("teleport-failed").send(player, MessageArgs.world(settings.worldName()));
+                }
+            });
+            result.complete(false);
+            return;
+        }
+        locationPools.take(settings).whenComplete((next, error) ->
+                attempt(player, error == null ? next : null, settings, retriesLeft - 1, onArrival, result));
+    }
+
+    private void processArrivals() {
+        int budget = config.getArrivalsPerTick();
+        Runnable arrival;
+        while (budget-- > 0 && (arrival = arrivals.poll()) != null) {
+            arrival.run();
+        }
+    }
+
+    public int getPendingTeleports() { return pendingTeleports.get(); }
+    public int getQueuedArrivals() { return arrivals.size(); }
+}
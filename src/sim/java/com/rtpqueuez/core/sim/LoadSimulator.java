@@ -0,0 +1,234 @@
+package com.rtpqueuez.core.sim;
+
+import com.rtpqueuez.core.CooldownStore;
+import com.rtpqueuez.core.Departure;
+import com.rtpqueuez.core.JoinResult;
+import com.rtpqueuez.core.MatchGroup;
+import com.rtpqueuez.core.QueueCore;
+import com.rtpqueuez.core.QueueEvents;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Drives the {@link QueueCore} with thousands of synthetic players on a virtual clock, without a server.
+ * Players log in and out, join random queues, lose patience and leave, quit during countdowns
+ * and come back after playing; the core runs exactly as it does in the plugin.
+ * <pre>
+ * mvn -P simulator test-compile exec:exec -Dsim.args="players=10000 seconds=3600"
+ * </pre>
+ * See {@link SimOptions} for every option. Prints throughput, queue wait percentiles and
+ * matches formed per simulated second.
+ */
+public final class LoadSimulator implements QueueEvents<SimQueue> {
+
+    private static final long TICKS_PER_SECOND = 20L;
+
+    private enum State { OFFLINE, IDLE, QUEUED, MATCHED, PLAYING }
+
+    private final SimOptions options;
+    private final Random random;
+    private final VirtualClock clock = new VirtualClock();
+    private final QueueCore<SimQueue> core;
+    private final Map<String, SimQueue> queues = new HashMap<>();
+
+    private final State[] states;
+    private final long[] nextAction;
+    private final long[] sessionEnd;
+    private final long[] joinedAt;
+    private final long[] headStarts;
+
+    private final Samples waits = new Samples();
+    private final Samples tickNanos = new Samples();
+    private final Samples matchesPerSecond = new Samples();
+    private long joins;
+    private long leaves;
+    private long quits;
+    private long cooldownRejects;
+    private long matches;
+    private long refills;
+    private long cancels;
+    private long teleports;
+    private int matchesThisSecond;
+
+    LoadSimulator(SimOptions options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+        for (SimQueue queue : options.queues()) {
+            queues.put(queue.name(), queue);
+        }
+        int players = options.players();
+        this.states = new State[players];
+        this.nextAction = new long[players];
+        this.sessionEnd = new long[players];
+        this.joinedAt = new long[players];
+        this.headStarts = new long[players];
+        for (int i = 0; i < players; i++) {
+            // Spread the first logins over the first minute instead of a thundering herd at tick 0
+            states[i] = State.OFFLINE;
+            nextAction[i] = random.nextInt((int) (60 * TICKS_PER_SECOND));
+            headStarts[i] = random.nextDouble() < options.priorityRate() ? options.headStart() * 1000L : 0L;
+        }
+        // Cooldowns are kept in memory only
+        this.core = new QueueCore<>(name -> Optional.ofNullable(queues.get(name.toLowerCase())),
+                player -> states[index(player)] != State.OFFLINE, clock, new CooldownStore(null), this);
+    }
+
+    public static void main(String[] args) {
+        SimOptions options = SimOptions.parse(args);
+        LoadSimulator simulator = new LoadSimulator(options);
+        long started = System.nanoTime();
+        simulator.run();
+        simulator.report(System.nanoTime() - started);
+    }
+
+    void run() {
+        long ticks = options.seconds() * TICKS_PER_SECOND;
+        for (long tick = 1; tick <= ticks; tick++) {
+            clock.advance();
+            for (int i = 0; i < states.length; i++) {
+                step(i, tick);
+            }
+            long start = System.nanoTime();
+            core.tick();
+            tickNanos.add(System.nanoTime() - start);
+
+            if (tick % TICKS_PER_SECOND == 0) {
+                matchesPerSecond.add(matchesThisSecond);
+                matchesThisSecond = 0;
+            }
+        }
+    }
+
+    private void step(int i, long tick) {
+        if (states[i] == State.OFFLINE) {
+            if (tick >= nextAction[i]) {
+                states[i] = State.IDLE;
+                nextAction[i] = tick + draw(options.joinDelay());
+                sessionEnd[i] = tick + draw(options.session());
+            }
+            return;
+        }
+        UUID player = uuid(i);
+        if (tick >= sessionEnd[i]) {
+            quit(i, player, tick);
+            return;
+        }
+        if (tick < nextAction[i]) return;
+
+        switch (states[i]) {
+            case IDLE -> {
+                SimQueue queue = options.queues().get(random.nextInt(options.queues().size()));
+                JoinResult result = core.join(player, queue.name(), headStarts[i]);
+                if (result.outcome() == JoinResult.Outcome.ON_COOLDOWN) {
+                    cooldownRejects++;
+                    nextAction[i] = tick + result.cooldownRemaining() / VirtualClock.MILLIS_PER_TICK + 1;
+                } else if (result.outcome() == JoinResult.Outcome.JOINED) {
+                    joins++;
+                    states[i] = State.QUEUED;
+                    joinedAt[i] = clock.millis();
+                    nextAction[i] = tick + draw(options.patience());
+                }
+            }
+            case QUEUED -> {
+                if (core.leave(player) != null) {
+                    leaves++;
+                    states[i] = State.IDLE;
+                    nextAction[i] = tick + draw(options.joinDelay());
+                }
+            }
+            case PLAYING -> {
+                states[i] = State.IDLE;
+                nextAction[i] = tick + draw(options.joinDelay());
+            }
+            default -> {
+                // Matched players wait for their countdown
+            }
+        }
+    }
+
+    private void quit(int i, UUID player, long tick) {
+        quits++;
+        states[i] = State.OFFLINE;
+        nextAction[i] = tick + draw(options.offline());
+        Departure<SimQueue> departure = core.depart(player, true);
+        if (departure.isRefilled()) {
+            refills++;
+            onMatched(index(departure.replacement()));
+        } else if (departure.isMatchCancelled()) {
+            cancels++;
+            for (UUID requeued : departure.requeued()) {
+                int member = index(requeued);
+                states[member] = State.QUEUED;
+                joinedAt[member] = clock.millis();
+                nextAction[member] = tick + draw(options.patience());
+            }
+        }
+    }
+
+    @Override
+    public void matchStarted(MatchGroup<SimQueue> match) {
+        matches++;
+        matchesThisSecond++;
+        for (UUID member : match.getMembers()) {
+            onMatched(index(member));
+        }
+    }
+
+    @Override
+    public void countdownFinished(MatchGroup<SimQueue> match) {
+        long cooldown = match.getRules().cooldown() * 1000L;
+        for (UUID member : match.getMembers()) {
+            int i = index(member);
+            if (states[i] != State.MATCHED) continue;
+            teleports++;
+            core.startCooldown(member, cooldown);
+            states[i] = State.PLAYING;
+            nextAction[i] = clock.tick() + draw(options.play());
+        }
+    }
+
+    private void onMatched(int i) {
+        states[i] = State.MATCHED;
+        waits.add(clock.millis() - joinedAt[i]);
+    }
+
+    /**
+     * Draws a number of ticks from an exponential distribution with the given mean in seconds.
+     */
+    private long draw(double meanSeconds) {
+        return 1L + (long) (-Math.log(1.0 - random.nextDouble()) * meanSeconds * TICKS_PER_SECOND);
+    }
+
+    private static UUID uuid(int index) {
+        return new UUID(0L, index);
+    }
+
+    private static int index(UUID player) {
+        return (int) player.getLeastSignificantBits();
+    }
+
+    void report(long wallNanos) {
+        double wallSeconds = wallNanos / 1e9;
+        long ticks = options.seconds() * TICKS_PER_SECOND;
+        long operations = joins + leaves + quits + cooldownRejects + ticks;
+
+        System.out.printf("Simulated %,d players for %,d s (%,d ticks) in %.2f s%n", options.players(), options.seconds(), ticks, wallSeconds);
+        System.out.printf("Throughput: %,.0f ticks/s, %,.0f core operations/s (%.0fx real time)%n",
+                ticks / wallSeconds, operations / wallSeconds, options.seconds() / wallSeconds);
+        System.out.printf("Core tick: mean %.1f us, p99 %.1f us, max %.1f us%n",
+                tickNanos.mean() / 1e3, tickNanos.percentile(99) / 1e3, tickNanos.max() / 1e3);
+        System.out.printf("Joins %,d, leaves %,d, quits %,d, cooldown rejects %,d%n", joins, leaves, quits, cooldownRejects);
+        System.out.printf("Matches %,d, refilled %,d, cancelled %,d, players teleported %,d%n", matches, refills, cancels, teleports);
+        System.out.printf("Queue wait (s): p50 %.2f, p90 %.2f, p99 %.2f, max %.2f over %,d matched players%n",
+                waits.percentile(50) / 1e3, waits.percentile(90) / 1e3, waits.percentile(99) / 1e3, waits.max() / 1e3, waits.count());
+        System.out.printf("Matches per simulated second: mean %.2f, p50 %d, p99 %d, max %d%n",
+                matchesPerSecond.mean(), matchesPerSecond.percentile(50), matchesPerSecond.percentile(99), matchesPerSecond.max());
+        for (SimQueue queue : options.queues()) {
+            System.out.printf("  %s: %,d still queued%n", queue.name(), core.size(queue.name()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.rtpqueuez.core.sim;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of long samples with percentiles, computed once all samples are in.
+ */
+final class Samples {
+
+    private long[] values = new long[1024];
+    private int count;
+    private boolean sorted;
+
+    void add(long value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
+        sorted = false;
+    }
+
+    int count() {
+        return count;
+    }
+
+    double mean() {
+        if (count == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100.
+     */
+    long percentile(double percentile) {
+        if (count == 0) return 0L;
+        if (!sorted) {
+            Arrays.sort(values, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return values[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    long max() {
+        return percentile(100);
+    }
+}
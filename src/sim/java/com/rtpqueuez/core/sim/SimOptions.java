@@ -0,0 +1,60 @@
+package com.rtpqueuez.core.sim;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Simulator settings, given on the command line as {@code key=value} pairs.
+ * Durations are in seconds; the "mean" durations are drawn from exponential distributions.
+ *
+ * @param players      Number of synthetic players.
+ * @param seconds      Simulated time to run.
+ * @param queues       The queues players pick from at random.
+ * @param joinDelay    Mean time an idle player waits before joining a queue.
+ * @param patience     Mean time a queued player waits before leaving the queue on their own.
+ * @param session      Mean time a player stays online before quitting.
+ * @param offline      Mean time a player stays offline before logging back in.
+ * @param play         Mean time a player plays after a teleport before they become idle again.
+ * @param priorityRate Share of players with a priority head start, between 0 and 1.
+ * @param headStart    The head start of those players.
+ * @param seed         Random seed, so runs can be repeated.
+ */
+record SimOptions(int players, int seconds, List<SimQueue> queues, double joinDelay, double patience,
+                  double session, double offline, double play, double priorityRate, int headStart, long seed) {
+
+    private static final Set<String> KEYS = Set.of("players", "seconds", "queues", "join-delay", "patience",
+            "session", "offline", "play", "priority-rate", "head-start", "seed");
+
+    static SimOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            String key = split > 0 ? arg.substring(0, split) : arg;
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected one of " + KEYS);
+            }
+            values.put(key, arg.substring(split + 1));
+        }
+
+        List<SimQueue> queues = new ArrayList<>();
+        for (String spec : values.getOrDefault("queues", "duel:2:5:30,group:8:10:60").split(",")) {
+            queues.add(SimQueue.parse(spec.trim()));
+        }
+        return new SimOptions(
+                Math.max(1, Integer.parseInt(values.getOrDefault("players", "5000"))),
+                Math.max(1, Integer.parseInt(values.getOrDefault("seconds", "600"))),
+                queues,
+                Double.parseDouble(values.getOrDefault("join-delay", "20")),
+                Double.parseDouble(values.getOrDefault("patience", "90")),
+                Double.parseDouble(values.getOrDefault("session", "1800")),
+                Double.parseDouble(values.getOrDefault("offline", "300")),
+                Double.parseDouble(values.getOrDefault("play", "60")),
+                Double.parseDouble(values.getOrDefault("priority-rate", "0.1")),
+                Integer.parseInt(values.getOrDefault("head-start", "60")),
+                Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.rtpqueuez.core.sim;
+
+import com.rtpqueuez.core.QueueRules;
+
+/**
+ * A simulated queue, parsed from {@code name:maxPlayers:teleportDelay:cooldown}.
+ */
+record SimQueue(String name, int maxPlayers, int teleportDelay, int cooldown) implements QueueRules {
+
+    static SimQueue parse(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected name:maxPlayers:teleportDelay:cooldown but got '" + spec + "'");
+        }
+        return new SimQueue(parts[0].toLowerCase(), Math.max(1, Integer.parseInt(parts[1])),
+                Math.max(0, Integer.parseInt(parts[2])), Math.max(0, Integer.parseInt(parts[3])));
+    }
+}
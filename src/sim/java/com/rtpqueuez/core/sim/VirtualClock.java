@@ -0,0 +1,34 @@
+package com.rtpqueuez.core.sim;
+
+import com.rtpqueuez.core.Clock;
+
+/**
+ * A clock that only moves when it is advanced, one server tick at a time.
+ * Drives the simulator and the queue core tests.
+ */
+public final class VirtualClock implements Clock {
+
+    public static final long MILLIS_PER_TICK = 50L;
+
+    private long tick;
+
+    public void advance() {
+        tick++;
+    }
+
+    /**
+     * Advances the clock by several ticks at once.
+     */
+    public void advance(long ticks) {
+        tick += ticks;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    @Override
+    public long millis() {
+        return tick * MILLIS_PER_TICK;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rtpqueuez.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownJournalTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void replaysFlushedRecordsInWriteOrder() throws IOException {
+        Path file = folder.resolve("cooldowns.dat");
+        CooldownJournal journal = new CooldownJournal(file);
+        journal.record(1L, 2L, 100L);
+        journal.record(3L, 4L, 200L);
+        assertFalse(Files.exists(file));
+        journal.flush();
+        journal.record(1L, 2L, 300L);
+        journal.flush();
+
+        assertEquals(List.of(List.of(1L, 2L, 100L), List.of(3L, 4L, 200L), List.of(1L, 2L, 300L)), replay(file));
+    }
+
+    @Test
+    void ignoresATruncatedTail() throws IOException {
+        Path file = folder.resolve("cooldowns.dat");
+        CooldownJournal journal = new CooldownJournal(file);
+        journal.record(1L, 2L, 100L);
+        journal.flush();
+        Files.write(file, new byte[10], StandardOpenOption.APPEND);
+
+        assertEquals(List.of(List.of(1L, 2L, 100L)), replay(file));
+    }
+
+    @Test
+    void storeRestoresLiveCooldownsAfterARestart() throws IOException {
+        Path file = folder.resolve("cooldowns.dat");
+        UUID live = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        CooldownStore store = new CooldownStore(new CooldownJournal(file));
+        store.set(live, 5_000L);
+        store.set(expired, 500L);
+        store.close(0L);
+
+        CooldownStore restarted = new CooldownStore(new CooldownJournal(file));
+        restarted.load(1_000L);
+        assertEquals(4_000L, restarted.getRemaining(live, 1_000L));
+        assertEquals(0L, restarted.getRemaining(expired, 1_000L));
+        assertEquals(1, restarted.size());
+    }
+
+    @Test
+    void compactsOnceStaleRecordsDominate() throws IOException {
+        Path file = folder.resolve("cooldowns.dat");
+        CooldownJournal journal = new CooldownJournal(file);
+        CooldownStore store = new CooldownStore(journal);
+        store.load(0L);
+        UUID player = UUID.randomUUID();
+        for (int i = 1; i <= 2_000; i++) {
+            store.set(player, 10_000L + i);
+        }
+        journal.flush();
+        assertEquals(2_000L * 24, Files.size(file));
+        assertTrue(journal.shouldCompact(store.size()));
+
+        store.maintain(0L);
+        assertEquals(24L, Files.size(file));
+        assertFalse(journal.shouldCompact(store.size()));
+        assertEquals(List.of(List.of(player.getMostSignificantBits(), player.getLeastSignificantBits(), 12_000L)), replay(file));
+    }
+
+    @Test
+    void neverCompactsBeforeTheFileWasReplayed() throws IOException {
+        Path file = folder.resolve("cooldowns.dat");
+        CooldownJournal writer = new CooldownJournal(file);
+        writer.record(1L, 2L, 100L);
+        writer.flush();
+
+        // A fresh journal has not read the file yet, so compacting would lose its records
+        CooldownJournal fresh = new CooldownJournal(file);
+        fresh.compact(sink -> {
+        });
+        assertEquals(List.of(List.of(1L, 2L, 100L)), replay(file));
+    }
+
+    private static List<List<Long>> replay(Path file) throws IOException {
+        List<List<Long>> records = new ArrayList<>();
+        new CooldownJournal(file).replay((most, least, expiresAt) -> records.add(List.of(most, least, expiresAt)));
+        return records;
+    }
+}
@@ -0,0 +1,66 @@
+package com.rtpqueuez.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CooldownStoreTest {
+
+    private final CooldownStore store = new CooldownStore(null);
+
+    @Test
+    void expiresCooldowns() {
+        UUID player = UUID.randomUUID();
+        store.set(player, 1_000L);
+
+        assertEquals(600L, store.getRemaining(player, 400L));
+        assertEquals(0L, store.getRemaining(player, 1_000L));
+        assertEquals(0, store.size());
+        assertEquals(0L, store.getRemaining(UUID.randomUUID(), 0L));
+    }
+
+    @Test
+    void laterSetReplacesTheExpiry() {
+        UUID player = UUID.randomUUID();
+        store.set(player, 1_000L);
+        store.set(player, 5_000L);
+
+        assertEquals(1, store.size());
+        assertEquals(4_000L, store.getRemaining(player, 1_000L));
+    }
+
+    @Test
+    void deletingFromAProbeChainKeepsTheRestReachable() {
+        // Equal high and low bits hash to the same home slot, so these form one long probe chain
+        UUID[] colliding = new UUID[12];
+        for (int i = 0; i < colliding.length; i++) {
+            colliding[i] = new UUID(i + 1, i + 1);
+            store.set(colliding[i], i == 4 || i == 7 ? 100L : 10_000L + i);
+        }
+
+        // Looking up expired entries deletes them and shifts the chain back over the gaps
+        assertEquals(0L, store.getRemaining(colliding[4], 500L));
+        assertEquals(0L, store.getRemaining(colliding[7], 500L));
+        assertEquals(10, store.size());
+        for (int i = 0; i < colliding.length; i++) {
+            if (i == 4 || i == 7) continue;
+            assertEquals(10_000L + i - 500L, store.getRemaining(colliding[i], 500L), "entry " + i);
+        }
+    }
+
+    @Test
+    void sweepDropsExpiredEntriesAndKeepsLiveOnes() {
+        UUID[] players = new UUID[500];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            store.set(players[i], i < 450 ? 100L : 10_000L);
+        }
+
+        assertEquals(50, store.sweep(1_000L));
+        for (int i = 450; i < players.length; i++) {
+            assertEquals(9_000L, store.getRemaining(players[i], 1_000L));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.rtpqueuez.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountdownWheelTest {
+
+    private final List<String> fired = new ArrayList<>();
+    private final CountdownWheel<Rules> wheel = new CountdownWheel<>(
+            (match, seconds) -> fired.add(match.getQueueName() + " " + seconds),
+            match -> fired.add(match.getQueueName() + " done"));
+
+    @Test
+    void firesOncePerSecondAndFinishes() {
+        wheel.schedule(match("a"), 2);
+        assertEquals(List.of("a 2"), fired);
+        assertEquals(1, wheel.getActiveCount());
+
+        ticks(19);
+        assertEquals(List.of("a 2"), fired);
+        ticks(1);
+        assertEquals(List.of("a 2", "a 1"), fired);
+        ticks(20);
+        assertEquals(List.of("a 2", "a 1", "a done"), fired);
+        assertEquals(0, wheel.getActiveCount());
+    }
+
+    @Test
+    void interleavesCountdownsStartedOnDifferentTicks() {
+        wheel.schedule(match("a"), 1);
+        ticks(5);
+        wheel.schedule(match("b"), 1);
+        ticks(15);
+        assertEquals(List.of("a 1", "b 1", "a done"), fired);
+        ticks(5);
+        assertEquals(List.of("a 1", "b 1", "a done", "b done"), fired);
+    }
+
+    @Test
+    void dropsCancelledMatches() {
+        MatchGroup<Rules> match = match("a");
+        wheel.schedule(match, 3);
+        match.cancel();
+        ticks(100);
+        assertEquals(List.of("a 3"), fired);
+        assertEquals(0, wheel.getActiveCount());
+    }
+
+    @Test
+    void zeroSecondCountdownFinishesImmediately() {
+        wheel.schedule(match("a"), 0);
+        assertEquals(List.of("a done"), fired);
+        assertEquals(0, wheel.getActiveCount());
+        ticks(40);
+        assertEquals(1, fired.size());
+    }
+
+    private void ticks(int count) {
+        for (int i = 0; i < count; i++) {
+            wheel.tick();
+        }
+    }
+
+    private static MatchGroup<Rules> match(String name) {
+        return new MatchGroup<>(new Rules(name), List.of(UUID.randomUUID()));
+    }
+
+    private record Rules(String name) implements QueueRules {
+        @Override
+        public int maxPlayers() { return 1; }
+        @Override
+        public int teleportDelay() { return 0; }
+        @Override
+        public int cooldown() { return 0; }
+    }
+}
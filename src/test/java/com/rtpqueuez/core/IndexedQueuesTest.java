@@ -0,0 +1,123 @@
+package com.rtpqueuez.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedQueuesTest {
+
+    private final IndexedQueues queues = new IndexedQueues();
+
+    @Test
+    void servesLowestRankFirstAndTiesInJoinOrder() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        UUID d = UUID.randomUUID();
+        queues.add(a, "duel", 10L);
+        queues.add(b, "duel", 5L);
+        queues.add(c, "duel", 10L);
+        queues.add(d, "duel", 5L);
+
+        assertEquals(List.of(b, d, a, c), queues.poll("duel", 4));
+        assertEquals(0, queues.size("duel"));
+    }
+
+    @Test
+    void keepsEveryPlayerInOneQueue() {
+        UUID a = UUID.randomUUID();
+        assertTrue(queues.add(a, "duel", 0L));
+        assertFalse(queues.add(a, "group", 0L));
+        assertFalse(queues.addFirst(a, "duel"));
+        assertEquals("duel", queues.getQueue(a));
+        assertEquals(0, queues.size("group"));
+
+        assertEquals("duel", queues.remove(a));
+        assertNull(queues.remove(a));
+        assertFalse(queues.contains(a));
+        assertTrue(queues.add(a, "group", 0L));
+    }
+
+    @Test
+    void removesFromTheMiddleOfTheHeap() {
+        UUID[] players = new UUID[100];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            queues.add(players[i], "duel", (i * 37L) % 100);
+        }
+        for (int i = 0; i < players.length; i += 3) {
+            queues.remove(players[i]);
+        }
+
+        List<UUID> polled = queues.poll("duel", players.length);
+        assertEquals(66, polled.size());
+        long previous = Long.MIN_VALUE;
+        for (UUID player : polled) {
+            int i = indexOf(players, player);
+            assertTrue(i % 3 != 0);
+            long rank = (i * 37L) % 100;
+            assertTrue(rank >= previous);
+            previous = rank;
+        }
+    }
+
+    @Test
+    void updatedRankMovesBothWays() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        queues.add(a, "duel", 1L);
+        queues.add(b, "duel", 2L);
+        queues.add(c, "duel", 3L);
+
+        assertTrue(queues.updateRank(c, 0L));
+        assertTrue(queues.updateRank(a, 4L));
+        assertFalse(queues.updateRank(UUID.randomUUID(), 0L));
+        assertEquals(List.of(c, b, a), queues.poll("duel", 3));
+    }
+
+    @Test
+    void addFirstGoesAheadOfEveryone() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        queues.add(a, "duel", Long.MIN_VALUE / 4);
+        queues.addFirst(b, "duel");
+        queues.addFirst(c, "duel");
+
+        assertEquals(List.of(c, b, a), queues.poll("duel", 3));
+        assertTrue(queues.poll("duel", 1).isEmpty());
+        assertTrue(queues.poll("unknown", 1).isEmpty());
+    }
+
+    @Test
+    void clearEmptiesEveryQueue() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        queues.add(a, "duel", 1L);
+        queues.addFirst(b, "duel");
+        queues.add(c, "trio", 1L);
+
+        queues.clear();
+        assertEquals(0, queues.size("duel"));
+        assertEquals(0, queues.size("trio"));
+        assertFalse(queues.contains(b));
+        assertNull(queues.getQueue(c));
+        assertTrue(queues.add(a, "trio", 1L));
+        assertEquals(List.of(a), queues.poll("trio", 2));
+    }
+
+    private static int indexOf(UUID[] players, UUID player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].equals(player)) return i;
+        }
+        return -1;
+    }
+}
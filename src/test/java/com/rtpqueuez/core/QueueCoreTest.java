@@ -0,0 +1,323 @@
+package com.rtpqueuez.core;
+
+import com.rtpqueuez.core.sim.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueueCoreTest {
+
+    private static final TestQueue DUEL = new TestQueue("duel", 2, 5, 30);
+    private static final TestQueue TRIO = new TestQueue("trio", 3, 5, 30);
+
+    private final VirtualClock clock = new VirtualClock();
+    private final Set<UUID> online = new HashSet<>();
+    private final Recorder events = new Recorder();
+    private final Map<String, TestQueue> queues = new HashMap<>();
+    private QueueCore<TestQueue> core;
+
+    @BeforeEach
+    void setUp() {
+        queues.put(DUEL.name(), DUEL);
+        queues.put(TRIO.name(), TRIO);
+        core = new QueueCore<>(name -> Optional.ofNullable(queues.get(name.toLowerCase())), online::contains,
+                clock, new CooldownStore(null), events);
+    }
+
+    @Test
+    void joinsFormMatchesOnTheNextTick() {
+        UUID a = join("duel");
+        UUID b = join("Duel");
+        UUID c = join("duel");
+        assertEquals(3, core.size("duel"));
+        assertTrue(events.started.isEmpty());
+
+        tick();
+        assertEquals(1, events.started.size());
+        MatchGroup<TestQueue> match = events.started.get(0);
+        assertEquals(List.of(a, b), match.getMembers());
+        assertSame(match, core.getMatch(a));
+        assertFalse(core.isQueued(a));
+        assertEquals("duel", core.getQueue(c));
+        assertEquals(List.of(c), events.stillWaiting);
+        assertEquals(List.of(a, b), events.matched);
+    }
+
+    @Test
+    void rejectsUnknownQueuedAndCoolingDownPlayers() {
+        UUID a = UUID.randomUUID();
+        online.add(a);
+        assertEquals(JoinResult.Outcome.UNKNOWN_QUEUE, core.join(a, "nowhere", 0L).outcome());
+        assertEquals(JoinResult.Outcome.JOINED, core.join(a, "duel", 0L).outcome());
+        assertEquals(JoinResult.Outcome.ALREADY_QUEUED, core.join(a, "duel", 0L).outcome());
+
+        assertEquals("duel", core.leave(a));
+        assertNull(core.leave(a));
+        core.startCooldown(a, 30_000L);
+        JoinResult result = core.join(a, "duel", 0L);
+        assertEquals(JoinResult.Outcome.ON_COOLDOWN, result.outcome());
+        assertEquals(30_000L, result.cooldownRemaining());
+
+        clock.advance(30_000L / VirtualClock.MILLIS_PER_TICK);
+        assertEquals(0L, core.getCooldownRemaining(a));
+        assertEquals(JoinResult.Outcome.JOINED, core.join(a, "duel", 0L).outcome());
+    }
+
+    @Test
+    void countdownAnnouncesEverySecondAndFinishes() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+        MatchGroup<TestQueue> match = events.started.get(0);
+        assertEquals(List.of(5), events.seconds);
+
+        for (int i = 0; i < 20 * DUEL.teleportDelay() - 1; i++) {
+            tick();
+        }
+        assertEquals(List.of(5, 4, 3, 2, 1), events.seconds);
+        assertTrue(events.finished.isEmpty());
+        assertSame(match, core.getMatch(a));
+        assertEquals(1, core.getActiveCountdowns());
+
+        tick();
+        assertEquals(List.of(match), events.finished);
+        assertNull(core.getMatch(a));
+        assertNull(core.getMatch(b));
+        assertEquals(0, core.getActiveCountdowns());
+    }
+
+    @Test
+    void departureRefillsTheSlotFromTheQueue() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+        UUID c = join("duel");
+        tick();
+
+        online.remove(a);
+        Departure<TestQueue> departure = core.depart(a, true);
+        assertTrue(departure.isRefilled());
+        assertFalse(departure.isMatchCancelled());
+        assertEquals(c, departure.replacement());
+        assertEquals(List.of(b, c), departure.match().getMembers());
+        assertSame(departure.match(), core.getMatch(c));
+        assertEquals(0, core.size("duel"));
+    }
+
+    @Test
+    void departureCancelsTheMatchWhenNobodyCanRefill() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+
+        online.remove(a);
+        Departure<TestQueue> departure = core.depart(a, true);
+        assertTrue(departure.isMatchCancelled());
+        assertEquals(List.of(b), departure.requeued());
+        assertNull(core.getMatch(b));
+        assertEquals("duel", core.getQueue(b));
+
+        // The cancelled countdown never finishes
+        for (int i = 0; i < 20 * DUEL.teleportDelay() + 1; i++) {
+            tick();
+        }
+        assertTrue(events.finished.isEmpty());
+    }
+
+    @Test
+    void priorityHeadStartServesLaterJoinsFirstUntilOthersHaveWaitedLonger() {
+        UUID normal = join("duel");
+        clock.advance(30_000L / VirtualClock.MILLIS_PER_TICK);
+        UUID vip = join("duel", 60_000L);
+        join("duel");
+        tick();
+        assertEquals(List.of(vip, normal), events.started.get(0).getMembers());
+    }
+
+    @Test
+    void playersWhoWaitedLongerThanTheHeadStartStayAhead() {
+        UUID normal = join("duel");
+        clock.advance(90_000L / VirtualClock.MILLIS_PER_TICK);
+        UUID vip = join("duel", 60_000L);
+        join("duel");
+        tick();
+        assertEquals(List.of(normal, vip), events.started.get(0).getMembers());
+    }
+
+    @Test
+    void refreshedPriorityReranksAQueuedPlayer() {
+        UUID first = join("duel");
+        UUID second = join("duel");
+        join("duel");
+        core.refreshPriority(second, 60_000L);
+        tick();
+        assertEquals(List.of(second, first), events.started.get(0).getMembers());
+    }
+
+    @Test
+    void cancelledMatchWithEnoughPlayersLeftFormsAgain() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+        UUID c = join("duel");
+        tick();
+        assertEquals(1, events.started.size());
+
+        // Without refills the match is cancelled and b goes back ahead of c, which makes a full match
+        Departure<TestQueue> departure = core.depart(a, false);
+        assertTrue(departure.isMatchCancelled());
+        assertEquals(List.of(b), departure.requeued());
+        tick();
+
+        assertEquals(2, events.started.size());
+        assertEquals(List.of(b, c), events.started.get(1).getMembers());
+        assertEquals(0, core.size("duel"));
+    }
+
+    @Test
+    void requeuedPlayersKeepTheirJoinTimeForPriorityChanges() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+        core.depart(a, false);
+        UUID vip = join("duel", 60_000L);
+
+        // b is back at the front; re-ranked by the original join time, the VIP's head start wins
+        core.refreshPriority(b, 0L);
+        tick();
+        assertEquals(List.of(vip, b), events.started.get(1).getMembers());
+    }
+
+    @Test
+    void clearEmptiesEveryQueueIncludingRequeuedPlayers() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        tick();
+        core.depart(a, false);
+        UUID c = join("trio");
+        assertTrue(core.isQueued(b));
+
+        core.clear();
+        assertFalse(core.isQueued(b));
+        assertFalse(core.isQueued(c));
+        assertEquals(0, core.size("duel"));
+        assertEquals(0, core.size("trio"));
+        assertEquals(JoinResult.Outcome.JOINED, core.join(b, "duel", 0L).outcome());
+    }
+
+    @Test
+    void joiningAgainReportsTheQueueThePlayerIsIn() {
+        UUID a = join("duel");
+        JoinResult waiting = core.join(a, "trio", 0L);
+        assertEquals(JoinResult.Outcome.ALREADY_QUEUED, waiting.outcome());
+        assertEquals("duel", waiting.queueKey());
+
+        join("duel");
+        tick();
+        JoinResult countingDown = core.join(a, "trio", 0L);
+        assertEquals(JoinResult.Outcome.ALREADY_QUEUED, countingDown.outcome());
+        assertEquals("duel", countingDown.queueKey());
+    }
+
+    @Test
+    void shortMatchFromOfflinePlayerIsFormedOnTheNextTick() {
+        UUID a = join("duel");
+        UUID b = join("duel");
+        UUID c = join("duel");
+        // a went offline without a departure, so the first pass can only requeue b
+        online.remove(a);
+        tick();
+        tick();
+
+        assertEquals(1, events.started.size());
+        assertEquals(List.of(b, c), events.started.get(0).getMembers());
+        assertEquals(0, core.size("duel"));
+    }
+
+    @Test
+    void dropsPlayersFromQueuesThatNoLongerResolve() {
+        UUID a = join("trio");
+        UUID b = join("trio");
+        UUID c = join("duel");
+        queues.remove("trio");
+
+        assertEquals(Map.of("trio", List.of(a, b)), core.dropUnknownQueues());
+        assertFalse(core.isQueued(a));
+        assertEquals(0, core.size("trio"));
+        assertEquals("duel", core.getQueue(c));
+        assertTrue(core.dropUnknownQueues().isEmpty());
+
+        // The freed players can join another queue
+        assertEquals(JoinResult.Outcome.JOINED, core.join(a, "duel", 0L).outcome());
+        tick();
+        assertEquals(List.of(c, a), events.started.get(0).getMembers());
+    }
+
+    private UUID join(String queue) {
+        return join(queue, 0L);
+    }
+
+    private UUID join(String queue, long headStart) {
+        UUID player = UUID.randomUUID();
+        online.add(player);
+        assertEquals(JoinResult.Outcome.JOINED, core.join(player, queue, headStart).outcome());
+        // Spread joins out so their ranks differ
+        clock.advance();
+        return player;
+    }
+
+    private void tick() {
+        clock.advance();
+        core.tick();
+    }
+
+    private record TestQueue(String name, int maxPlayers, int teleportDelay, int cooldown) implements QueueRules {
+    }
+
+    private static final class Recorder implements QueueEvents<TestQueue> {
+        private final List<MatchGroup<TestQueue>> started = new ArrayList<>();
+        private final List<MatchGroup<TestQueue>> finished = new ArrayList<>();
+        private final List<Integer> seconds = new ArrayList<>();
+        private final List<UUID> matched = new ArrayList<>();
+        private final List<UUID> stillWaiting = new ArrayList<>();
+
+        @Override
+        public void matchStarted(MatchGroup<TestQueue> match) {
+            started.add(match);
+        }
+
+        @Override
+        public void playerMatched(UUID player, String queueKey, long waitMillis) {
+            matched.add(player);
+        }
+
+        @Override
+        public void countdownSecond(MatchGroup<TestQueue> match, int secondsLeft) {
+            seconds.add(secondsLeft);
+        }
+
+        @Override
+        public void countdownFinished(MatchGroup<TestQueue> match) {
+            finished.add(match);
+        }
+
+        @Override
+        public void stillWaiting(UUID player, String queueKey, int waiting) {
+            stillWaiting.add(player);
+        }
+    }
+}
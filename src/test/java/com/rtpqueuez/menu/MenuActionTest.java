@@ -0,0 +1,48 @@
+package com.rtpqueuez.menu;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MenuActionTest {
+
+    @Test
+    void parsesTaggedActions() {
+        assertEquals(new MenuAction.JoinQueue("duel"), MenuAction.parse("[join] Duel"));
+        assertEquals(new MenuAction.LeaveQueue(), MenuAction.parse("[leave]"));
+        assertEquals(new MenuAction.OpenMenu(), MenuAction.parse(" [menu] "));
+        assertEquals(new MenuAction.ConsoleCommand("say {player}"), MenuAction.parse("[console] /say {player}"));
+        assertEquals(new MenuAction.PlayerCommand("spawn"), MenuAction.parse("[player] spawn"));
+    }
+
+    @Test
+    void rejectsEmptyAndMalformedLines() {
+        assertNull(MenuAction.parse(null));
+        assertNull(MenuAction.parse("  "));
+        assertNull(MenuAction.parse("[join]"));
+        assertNull(MenuAction.parse("[join world"));
+        assertNull(MenuAction.parse("[teleport] world"));
+    }
+
+    @Test
+    void readsLegacyQueueCommandsAsQueueActions() {
+        assertEquals(new MenuAction.OpenMenu(), MenuAction.parse("/rtpqueue"));
+        assertEquals(new MenuAction.JoinQueue("world_nether"), MenuAction.parse("rtpqueue World_Nether"));
+        assertEquals(new MenuAction.JoinQueue("duel"), MenuAction.parse("rq duel"));
+        assertEquals(new MenuAction.LeaveQueue(), MenuAction.parse("rtpq LEAVE"));
+    }
+
+    @Test
+    void runsLegacySubcommandsAsPlayerCommands() {
+        assertEquals(new MenuAction.PlayerCommand("rtpqueue stats"), MenuAction.parse("rtpqueue stats"));
+        assertEquals(new MenuAction.PlayerCommand("rtpqueue reload"), MenuAction.parse("/rtpqueue reload"));
+        assertEquals(new MenuAction.PlayerCommand("rq Broadcasts"), MenuAction.parse("rq Broadcasts"));
+    }
+
+    @Test
+    void runsLongerLegacyCommandsAsPlayerCommands() {
+        assertEquals(new MenuAction.PlayerCommand("rtpqueue duel now"), MenuAction.parse("rtpqueue duel now"));
+        assertEquals(new MenuAction.PlayerCommand("spawn"), MenuAction.parse("/spawn"));
+    }
+}